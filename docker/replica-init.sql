@@ -0,0 +1,15 @@
+-- Khởi tạo mysql-replica: replicate từ service "mysql" (GTID auto position)
+-- Chỉ chạy lần đầu (volume trống). Nếu primary đã có dữ liệu từ trước khi bật GTID:
+-- dump primary rồi import vào replica trước khi START REPLICA.
+CHANGE REPLICATION SOURCE TO
+    SOURCE_HOST = 'mysql',
+    SOURCE_PORT = 3306,
+    SOURCE_USER = 'root',
+    SOURCE_PASSWORD = 'rootpassword',
+    SOURCE_AUTO_POSITION = 1,
+    GET_SOURCE_PUBLIC_KEY = 1;
+START REPLICA;
+
+-- Chặn ghi cả với user SUPER (root); luồng replication không bị ảnh hưởng.
+-- SET PERSIST: giữ sau khi entrypoint khởi động lại server (không bật qua command vì bước init còn phải tạo user)
+SET PERSIST super_read_only = ON;
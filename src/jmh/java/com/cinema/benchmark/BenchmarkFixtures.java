@@ -0,0 +1,171 @@
+package com.cinema.benchmark;
+
+import com.cinema.model.entity.Cinema;
+import com.cinema.model.entity.Movie;
+import com.cinema.model.entity.Room;
+import com.cinema.model.entity.Showtime;
+import com.cinema.model.entity.User;
+import com.cinema.model.enums.MovieStatus;
+import com.cinema.model.enums.SeatType;
+import com.cinema.model.enums.UserRole;
+import com.cinema.model.enums.UserStatus;
+import com.cinema.repository.SeatRepository;
+import com.cinema.security.CustomUserDetails;
+import com.cinema.service.SeatLayout;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Dữ liệu giả + repository giả cho benchmark service (không Spring context, không DB).
+ *
+ * - stub(): repository chỉ trả lời các method được khai báo, method khác → UnsupportedOperationException
+ *   (benchmark gọi nhầm vào DB path sẽ fail ngay thay vì đo sai)
+ * - Dùng Proxy của JDK thay vì Mockito: chi phí / allocation của stub gần như bằng 0, không lẫn vào -prof gc
+ */
+final class BenchmarkFixtures {
+
+    static final String[] GENRES = {"Action", "Comedy", "Drama", "Horror", "Animation", "Sci-Fi", "Romance", "Thriller"};
+    static final String[] AGE_RATINGS = {"P", "K", "T13", "T16", "T18"};
+
+    private BenchmarkFixtures() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + "Stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException("Stub không hỗ trợ " + type.getSimpleName() + "." + method.getName());
+            };
+        });
+    }
+
+    static User user(long id, UserRole role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("customer" + id);
+        user.setEmail("customer" + id + "@example.com");
+        user.setFullName("Nguyễn Văn " + id);
+        user.setPassword("{noop}123456");
+        user.setRole(role);
+        user.setStatus(UserStatus.ACTIVE);
+        return user;
+    }
+
+    /**
+     * SecurityContext dùng chung mọi thread (JMH chạy @Setup và @Benchmark trên thread khác nhau)
+     */
+    static void authenticate(User user) {
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        CustomUserDetails principal = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    static void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_THREADLOCAL);
+    }
+
+    /**
+     * Phòng rows × cols, 2 hàng cuối là VIP, sơ đồ ghế đã mã hoá sẵn (như phòng đã backfill)
+     */
+    static Room room(long id, int rows, int cols) {
+        Cinema cinema = new Cinema();
+        cinema.setId(1L);
+        cinema.setName("Cinema Benchmark");
+        cinema.setAddress("1 Đường Benchmark");
+
+        SeatLayout layout = SeatLayout.uniform(rows, cols, SeatType.NORMAL).withRowType(rows - 2, rows - 1, SeatType.VIP);
+        Room room = new Room();
+        room.setId(id);
+        room.setCinema(cinema);
+        room.setRoomNumber("P" + id);
+        room.setTotalRows(rows);
+        room.setTotalCols(cols);
+        room.setTotalSeats(layout.seatCount());
+        room.setSeatLayout(layout.encode());
+        room.setLayoutVersion(1);
+        room.setCreatedAt(LocalDateTime.now());
+        room.setUpdatedAt(LocalDateTime.now());
+        return room;
+    }
+
+    /**
+     * Id ghế của phòng: roomId * 10000 + thứ tự ghế (theo thứ tự vị trí trong sơ đồ)
+     */
+    static List<SeatRepository.SeatIdView> seatIds(Room room) {
+        List<SeatLayout.Position> positions = SeatLayout.parse(room.getSeatLayout()).positions();
+        List<SeatRepository.SeatIdView> views = new ArrayList<>(positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+            long seatId = room.getId() * 10_000 + i;
+            String seatNumber = positions.get(i).label();
+            views.add(new SeatRepository.SeatIdView() {
+                @Override
+                public Long getId() {
+                    return seatId;
+                }
+
+                @Override
+                public String getSeatNumber() {
+                    return seatNumber;
+                }
+            });
+        }
+        return views;
+    }
+
+    static Showtime showtime(long id, Room room, Movie movie) {
+        Showtime showtime = new Showtime();
+        showtime.setId(id);
+        showtime.setRoom(room);
+        showtime.setMovie(movie);
+        showtime.setStartTime(LocalDateTime.now().plusDays(1));
+        showtime.setEndTime(showtime.getStartTime().plusMinutes(movie.getDuration()));
+        showtime.setPrice(new BigDecimal("75000"));
+        return showtime;
+    }
+
+    /**
+     * Catalog phim giả: tên / thể loại / năm / độ tuổi / trạng thái phân bố đều, seed cố định để các lần chạy so được
+     */
+    static List<Movie> movies(int count) {
+        Random random = new Random(42);
+        MovieStatus[] statuses = MovieStatus.values();
+        List<Movie> movies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Movie movie = new Movie();
+            movie.setId((long) i + 1);
+            movie.setTitle("Movie " + i + (i % 10 == 0 ? " Avengers" : " Story"));
+            movie.setDescription("Mô tả phim số " + i);
+            movie.setGenre(GENRES[random.nextInt(GENRES.length)]);
+            movie.setDuration(90 + random.nextInt(90));
+            movie.setReleaseDate(LocalDate.of(2015 + random.nextInt(12), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            movie.setEndDate(movie.getReleaseDate().plusWeeks(6));
+            movie.setStatus(statuses[random.nextInt(statuses.length)]);
+            movie.setAgeRating(AGE_RATINGS[random.nextInt(AGE_RATINGS.length)]);
+            movie.setDirector("Đạo diễn " + (i % 500));
+            movie.setCast("Diễn viên A, Diễn viên B");
+            movie.setCreatedAt(LocalDateTime.now());
+            movie.setUpdatedAt(LocalDateTime.now());
+            movies.add(movie);
+        }
+        return movies;
+    }
+}
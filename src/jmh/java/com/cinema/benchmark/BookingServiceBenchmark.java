@@ -0,0 +1,227 @@
+package com.cinema.benchmark;
+
+import com.cinema.exception.SeatConflictException;
+import com.cinema.model.dto.request.BookingRequest;
+import com.cinema.model.dto.response.BookingResponse;
+import com.cinema.model.entity.Booking;
+import com.cinema.model.entity.BookingRefreshment;
+import com.cinema.model.entity.Movie;
+import com.cinema.model.entity.Refreshment;
+import com.cinema.model.entity.Room;
+import com.cinema.model.entity.Seat;
+import com.cinema.model.entity.Showtime;
+import com.cinema.model.entity.Ticket;
+import com.cinema.model.entity.User;
+import com.cinema.model.enums.BookingStatus;
+import com.cinema.model.enums.UserRole;
+import com.cinema.repository.BookingRefreshmentRepository;
+import com.cinema.repository.BookingRepository;
+import com.cinema.repository.RefreshmentRepository;
+import com.cinema.repository.RoomRepository;
+import com.cinema.repository.SeatRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.repository.TicketRepository;
+import com.cinema.repository.UserRepository;
+import com.cinema.service.BookingService;
+import com.cinema.service.PricingEngine;
+import com.cinema.service.RoomSeatMapCache;
+import com.cinema.service.SeatSuggestionService;
+import com.cinema.service.SoldSeatCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Chi phí phần Java của đường đặt vé (repository là stub, không tính thời gian DB):
+ * - quote           : tra bảng giá của suất chiếu (PricingEngine, quote đã cache)
+ * - createBooking   : kiểm tra ghế theo sơ đồ trong bộ nhớ + tính giá + dựng entity + convertToResponse
+ * - createConflict  : ghế đã bị đặt → SeatConflictException kèm gợi ý dãy ghế thay thế
+ * - mapBooking      : getBookingById → convertToResponse (4 vé + 2 đồ ăn)
+ * - serializeBooking: BookingResponse → JSON (ObjectMapper cấu hình như Spring Boot)
+ *
+ * Chạy: mvn -Pjmh test-compile exec:exec -Djmh.args="BookingService -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingServiceBenchmark {
+
+    private static final long SHOWTIME_ID = 1L;
+
+    private BookingService bookingService;
+    private PricingEngine pricingEngine;
+    private ObjectMapper objectMapper;
+    private Showtime showtime;
+    private BookingRequest freeSeatsRequest;
+    private BookingRequest takenSeatsRequest;
+    private BookingResponse response;
+
+    @Setup
+    public void setUp() {
+        User customer = BenchmarkFixtures.user(42L, UserRole.CUSTOMER);
+        Room room = BenchmarkFixtures.room(1L, 12, 14);
+        Movie movie = BenchmarkFixtures.movies(1).get(0);
+        showtime = BenchmarkFixtures.showtime(SHOWTIME_ID, room, movie);
+        List<SeatRepository.SeatIdView> seatIds = BenchmarkFixtures.seatIds(room);
+
+        // 1/3 số ghế đã bán (mỗi ghế thứ 3)
+        Set<Long> sold = seatIds.stream()
+                .map(SeatRepository.SeatIdView::getId)
+                .filter(id -> id % 3 == 0)
+                .collect(Collectors.toSet());
+        List<Long> soldList = List.copyOf(sold);
+
+        List<Refreshment> refreshments = List.of(refreshment(1L, "Bắp rang bơ", "55000"), refreshment(2L, "Coca Cola", "30000"));
+
+        UserRepository userRepository = BenchmarkFixtures.stub(UserRepository.class, Map.of(
+                "findById", args -> Optional.of(customer)));
+        ShowtimeRepository showtimeRepository = BenchmarkFixtures.stub(ShowtimeRepository.class, Map.of(
+                "findById", args -> Optional.of(showtime)));
+        RoomRepository roomRepository = BenchmarkFixtures.stub(RoomRepository.class, Map.of(
+                "findById", args -> Optional.of(room)));
+        SeatRepository seatRepository = BenchmarkFixtures.stub(SeatRepository.class, Map.of(
+                "findIdsByRoomId", args -> seatIds,
+                "getReferenceById", args -> seat((Long) args[0])));
+        TicketRepository ticketRepository = BenchmarkFixtures.stub(TicketRepository.class, Map.of(
+                "findOccupiedSeatIds", args -> ((Collection<?>) args[1]).stream().filter(sold::contains).toList(),
+                "findSoldSeatIdsByShowtimeId", args -> soldList,
+                "countSoldSeatsByShowtimeIds", args -> List.of(),
+                "saveAll", args -> args[0]));
+        RefreshmentRepository refreshmentRepository = BenchmarkFixtures.stub(RefreshmentRepository.class, Map.of(
+                "findAllById", args -> refreshments));
+        BookingRefreshmentRepository bookingRefreshmentRepository = BenchmarkFixtures.stub(BookingRefreshmentRepository.class, Map.of(
+                "saveAll", args -> args[0]));
+
+        Booking existing = booking(customer, showtime, List.of(seatIds.get(40).getId(), seatIds.get(41).getId(),
+                seatIds.get(43).getId(), seatIds.get(44).getId()), refreshments);
+        BookingRepository bookingRepository = BenchmarkFixtures.stub(BookingRepository.class, Map.of(
+                "save", args -> args[0],
+                "findById", args -> Optional.of(existing)));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        pricingEngine = new PricingEngine("NORMAL:1.0,VIP:1.3", "0:1.0,50:1.1,80:1.2", 10_000, Duration.ofHours(1));
+        RoomSeatMapCache roomSeatMapCache = new RoomSeatMapCache(roomRepository, seatRepository, meterRegistry, 2_000, Duration.ofMinutes(5));
+        SeatSuggestionService seatSuggestionService = new SeatSuggestionService(
+                showtimeRepository, ticketRepository, roomSeatMapCache, pricingEngine);
+        SoldSeatCounter soldSeatCounter = new SoldSeatCounter(ticketRepository, meterRegistry, 10_000, Duration.ofSeconds(60));
+        bookingService = new BookingService(bookingRepository, ticketRepository, bookingRefreshmentRepository,
+                showtimeRepository, seatRepository, refreshmentRepository, userRepository,
+                pricingEngine, soldSeatCounter, roomSeatMapCache, seatSuggestionService, meterRegistry, event -> { });
+
+        BenchmarkFixtures.authenticate(customer);
+
+        List<Long> free = seatIds.stream().map(SeatRepository.SeatIdView::getId).filter(id -> !sold.contains(id)).toList();
+        List<BookingRequest.RefreshmentOrder> orders = List.of(
+                new BookingRequest.RefreshmentOrder(1L, 2), new BookingRequest.RefreshmentOrder(2L, 2));
+        freeSeatsRequest = new BookingRequest(SHOWTIME_ID, List.of(free.get(20), free.get(21), free.get(22), free.get(23)), orders);
+        takenSeatsRequest = new BookingRequest(SHOWTIME_ID, List.of(free.get(20), soldList.get(0)), List.of());
+
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        response = bookingService.getBookingById(1L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.clearAuthentication();
+    }
+
+    @Benchmark
+    public PricingEngine.Quote quote() {
+        return pricingEngine.quote(SHOWTIME_ID, showtime.getPrice(), 60, 168);
+    }
+
+    @Benchmark
+    public BookingResponse createBooking() {
+        return bookingService.createBooking(freeSeatsRequest);
+    }
+
+    @Benchmark
+    public int createConflict() {
+        try {
+            bookingService.createBooking(takenSeatsRequest);
+            throw new IllegalStateException("Expected SeatConflictException");
+        } catch (SeatConflictException ex) {
+            return ex.getSuggestions().size();
+        }
+    }
+
+    @Benchmark
+    public BookingResponse mapBooking() {
+        return bookingService.getBookingById(1L);
+    }
+
+    @Benchmark
+    public byte[] serializeBooking() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    private static Refreshment refreshment(Long id, String name, String price) {
+        Refreshment refreshment = new Refreshment();
+        refreshment.setId(id);
+        refreshment.setName(name);
+        refreshment.setPicture("/images/refreshment-" + id + ".png");
+        refreshment.setPrice(new BigDecimal(price));
+        refreshment.setIsCurrent(true);
+        return refreshment;
+    }
+
+    private static Seat seat(Long id) {
+        Seat seat = new Seat();
+        seat.setId(id);
+        return seat;
+    }
+
+    private static Booking booking(User user, Showtime showtime, List<Long> seatIds, List<Refreshment> refreshments) {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setUser(user);
+        booking.setShowtime(showtime);
+        booking.setBookingCode("BK0123456789");
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setCreatedAt(LocalDateTime.now());
+        booking.setUpdatedAt(LocalDateTime.now());
+
+        List<Ticket> tickets = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long seatId : seatIds) {
+            Ticket ticket = new Ticket();
+            ticket.setId(seatId);
+            ticket.setBooking(booking);
+            ticket.setSeat(seat(seatId));
+            ticket.setPrice(showtime.getPrice());
+            tickets.add(ticket);
+            total = total.add(ticket.getPrice());
+        }
+        List<BookingRefreshment> bookingRefreshments = new ArrayList<>();
+        for (Refreshment refreshment : refreshments) {
+            BookingRefreshment br = new BookingRefreshment();
+            br.setId(refreshment.getId());
+            br.setBooking(booking);
+            br.setRefreshment(refreshment);
+            br.setQuantity(2);
+            br.setTotalPrice(refreshment.getPrice().multiply(BigDecimal.valueOf(2)));
+            bookingRefreshments.add(br);
+            total = total.add(br.getTotalPrice());
+        }
+        booking.setTickets(tickets);
+        booking.setBookingRefreshments(bookingRefreshments);
+        booking.setTotalPrice(total);
+        return booking;
+    }
+}
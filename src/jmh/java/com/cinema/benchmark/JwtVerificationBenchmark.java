@@ -0,0 +1,83 @@
+package com.cinema.benchmark;
+
+import com.cinema.model.entity.User;
+import com.cinema.model.enums.UserRole;
+import com.cinema.model.enums.UserStatus;
+import com.cinema.security.JwtUtils;
+import com.cinema.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí ký / verify JWT cho mỗi request:
+ * - sign              : generateToken (lúc đăng nhập / refresh)
+ * - legacyDoubleParse : cách cũ (dựng key + parser mới, parse 2 lần: getUsernameFromToken + validateToken)
+ * - singleParse       : parser dựng sẵn, parse + verify 1 lần (cache miss của JwtVerifier)
+ * - cachedVerify      : JwtVerifier với token đã verify (cache hit, chỉ tốn SHA-256)
+ *
+ * Chạy: mvn -Pjmh test-compile exec:exec -Djmh.args="JwtVerification -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-minimum-256-bits-long-xxxxxxxx";
+
+    private JwtUtils jwtUtils;
+    private JwtVerifier jwtVerifier;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 3_600_000L);
+        jwtVerifier = new JwtVerifier(jwtUtils, new SimpleMeterRegistry(), 10_000);
+
+        user = new User();
+        user.setId(42L);
+        user.setUsername("customer42");
+        user.setEmail("customer42@example.com");
+        user.setFullName("Nguyễn Văn A");
+        user.setRole(UserRole.CUSTOMER);
+        user.setStatus(UserStatus.ACTIVE);
+        token = jwtUtils.generateToken(user);
+        jwtVerifier.verify(token);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyDoubleParse() {
+        String username = legacyParse().getSubject();
+        Claims claims = legacyParse();
+        return claims.getSubject().equals(username) && claims.getExpiration().getTime() > System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return jwtUtils.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims cachedVerify() {
+        return jwtVerifier.verify(token);
+    }
+
+    private Claims legacyParse() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,67 @@
+package com.cinema.benchmark;
+
+import com.cinema.model.dto.response.MovieResponse;
+import com.cinema.model.entity.Movie;
+import com.cinema.model.enums.MovieStatus;
+import com.cinema.repository.MovieActorRepository;
+import com.cinema.repository.MovieRepository;
+import com.cinema.repository.ReviewRepository;
+import com.cinema.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MovieService.searchMovies trên catalog giả 10k phim (repository là stub trả về toàn bộ danh sách):
+ * - keyword : lọc theo tên (10% số phim khớp)
+ * - filters : thể loại nhiều giá trị + năm + độ tuổi + trạng thái
+ * - sorted  : không lọc, sort theo ngày phát hành, lấy trang đầu 20 phim
+ *
+ * Chạy: mvn -Pjmh test-compile exec:exec -Djmh.args="MovieSearch -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MovieSearchBenchmark {
+
+    @Param({"10000"})
+    public int catalogSize;
+
+    private MovieService movieService;
+    private Pageable firstPage;
+    private Pageable firstPageByReleaseDate;
+
+    @Setup
+    public void setUp() {
+        List<Movie> catalog = BenchmarkFixtures.movies(catalogSize);
+        MovieRepository movieRepository = BenchmarkFixtures.stub(MovieRepository.class, Map.of(
+                "findAll", args -> catalog));
+        movieService = new MovieService(movieRepository,
+                BenchmarkFixtures.stub(MovieActorRepository.class, Map.of()),
+                BenchmarkFixtures.stub(ReviewRepository.class, Map.of()),
+                event -> { });
+        firstPage = PageRequest.of(0, 20);
+        firstPageByReleaseDate = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "releaseDate"));
+    }
+
+    @Benchmark
+    public Page<MovieResponse> keyword() {
+        return movieService.searchMovies("avengers", null, null, null, null, firstPage);
+    }
+
+    @Benchmark
+    public Page<MovieResponse> filters() {
+        return movieService.searchMovies(null, "Action,Comedy", 2020, "13+", MovieStatus.NOW_SHOWING, firstPage);
+    }
+
+    @Benchmark
+    public Page<MovieResponse> sorted() {
+        return movieService.searchMovies(null, null, null, null, null, firstPageByReleaseDate);
+    }
+}
@@ -0,0 +1,52 @@
+package com.cinema.benchmark;
+
+import com.cinema.security.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí rate limit cho mỗi request (mục tiêu < 1µs):
+ * - matchRoute   : tìm rule theo method + path
+ * - acquireHot   : 1 key nóng (mọi thread cùng CAS 1 bucket)
+ * - acquireSpread: key ngẫu nhiên trong 10k user (lookup bảng bucket + CAS)
+ *
+ * Chạy: mvn -Pjmh test-compile exec:exec -Djmh.args="RateLimiter -t 4"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimiterBenchmark {
+
+    private RateLimiter rateLimiter;
+    private RateLimiter.Rule rule;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new RateLimiter(true,
+                "POST /api/auth/login=ip:10/1m,POST /api/bookings=user:1000000000/1s,PUT /api/bookings/*/*=user:30/1m",
+                100_000);
+        rule = rateLimiter.match("POST", "/api/bookings");
+        keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "u:" + i;
+        }
+    }
+
+    @Benchmark
+    public RateLimiter.Rule matchRoute() {
+        return rateLimiter.match("PUT", "/api/bookings/42/confirm");
+    }
+
+    @Benchmark
+    public long acquireHot() {
+        return rateLimiter.tryAcquire(rule, "u:1");
+    }
+
+    @Benchmark
+    public long acquireSpread() {
+        return rateLimiter.tryAcquire(rule, keys[ThreadLocalRandom.current().nextInt(keys.length)]);
+    }
+}
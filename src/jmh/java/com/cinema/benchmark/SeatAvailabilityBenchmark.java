@@ -0,0 +1,97 @@
+package com.cinema.benchmark;
+
+import com.cinema.model.dto.response.BestSeatsResponse;
+import com.cinema.model.entity.Room;
+import com.cinema.model.entity.Showtime;
+import com.cinema.model.enums.SeatType;
+import com.cinema.repository.RoomRepository;
+import com.cinema.repository.SeatRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.repository.TicketRepository;
+import com.cinema.service.PricingEngine;
+import com.cinema.service.RoomSeatMap;
+import com.cinema.service.RoomSeatMapCache;
+import com.cinema.service.SeatSuggestionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kiểm tra ghế trống trên sơ đồ ghế trong bộ nhớ (phòng 12 × 14), theo mức lấp đầy của suất chiếu:
+ * - validateSeats: tra 4 ghế khách chọn trong RoomSeatMap (bước kiểm tra ghế thuộc phòng khi đặt vé)
+ * - bestSeats    : dựng bitset ghế đã bán + tìm 3 dãy 4 ghế liền nhau tốt nhất + tính giá (getBestSeats)
+ * - bestVipPair  : như trên, 2 ghế VIP
+ *
+ * Chạy: mvn -Pjmh test-compile exec:exec -Djmh.args="SeatAvailability -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SeatAvailabilityBenchmark {
+
+    private static final long SHOWTIME_ID = 1L;
+
+    @Param({"0", "50", "90"})
+    public int occupancyPercent;
+
+    private SeatSuggestionService seatSuggestionService;
+    private RoomSeatMapCache roomSeatMapCache;
+    private Long roomId;
+    private Long[] requestedSeatIds;
+
+    @Setup
+    public void setUp() {
+        Room room = BenchmarkFixtures.room(1L, 12, 14);
+        Showtime showtime = BenchmarkFixtures.showtime(SHOWTIME_ID, room, BenchmarkFixtures.movies(1).get(0));
+        List<SeatRepository.SeatIdView> seatIds = BenchmarkFixtures.seatIds(room);
+        roomId = room.getId();
+
+        // Ghế đã bán chọn ngẫu nhiên (seed cố định) theo mức lấp đầy
+        Random random = new Random(7);
+        List<Long> sold = seatIds.stream()
+                .map(SeatRepository.SeatIdView::getId)
+                .filter(id -> random.nextInt(100) < occupancyPercent)
+                .toList();
+
+        ShowtimeRepository showtimeRepository = BenchmarkFixtures.stub(ShowtimeRepository.class, Map.of(
+                "findById", args -> Optional.of(showtime)));
+        RoomRepository roomRepository = BenchmarkFixtures.stub(RoomRepository.class, Map.of(
+                "findById", args -> Optional.of(room)));
+        SeatRepository seatRepository = BenchmarkFixtures.stub(SeatRepository.class, Map.of(
+                "findIdsByRoomId", args -> seatIds));
+        TicketRepository ticketRepository = BenchmarkFixtures.stub(TicketRepository.class, Map.of(
+                "findSoldSeatIdsByShowtimeId", args -> sold));
+
+        PricingEngine pricingEngine = new PricingEngine("NORMAL:1.0,VIP:1.3", "0:1.0,50:1.1,80:1.2", 10_000, Duration.ofHours(1));
+        roomSeatMapCache = new RoomSeatMapCache(roomRepository, seatRepository, new SimpleMeterRegistry(), 2_000, Duration.ofMinutes(5));
+        seatSuggestionService = new SeatSuggestionService(showtimeRepository, ticketRepository, roomSeatMapCache, pricingEngine);
+
+        requestedSeatIds = new Long[]{seatIds.get(60).getId(), seatIds.get(61).getId(),
+                seatIds.get(62).getId(), seatIds.get(63).getId()};
+    }
+
+    @Benchmark
+    public void validateSeats(Blackhole blackhole) {
+        RoomSeatMap seatMap = roomSeatMapCache.get(roomId);
+        for (Long seatId : requestedSeatIds) {
+            blackhole.consume(seatMap.slot(seatId));
+        }
+    }
+
+    @Benchmark
+    public BestSeatsResponse bestSeats() {
+        return seatSuggestionService.getBestSeats(SHOWTIME_ID, 4, null);
+    }
+
+    @Benchmark
+    public BestSeatsResponse bestVipPair() {
+        return seatSuggestionService.getBestSeats(SHOWTIME_ID, 2, SeatType.VIP);
+    }
+}
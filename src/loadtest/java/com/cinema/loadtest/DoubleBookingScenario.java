@@ -0,0 +1,61 @@
+package com.cinema.loadtest;
+
+import com.cinema.service.BookingService;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.annotation.Isolation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cấu hình stress test đặt trùng ghế (stress.* trong application-loadtest.properties)
+ */
+record DoubleBookingScenario(long seed,
+                             List<BookingService.ConcurrencyControl> strategies,
+                             List<Isolation> isolationLevels,
+                             int threads,
+                             int rounds,
+                             int attemptsPerThread,
+                             int hotSeats,
+                             int seatsPerBooking,
+                             int roomRows,
+                             int roomCols) {
+
+    static DoubleBookingScenario from(Environment env) {
+        DoubleBookingScenario scenario = new DoubleBookingScenario(
+                env.getRequiredProperty("stress.seed", Long.class),
+                Arrays.stream(env.getRequiredProperty("stress.strategies", String[].class))
+                        .map(name -> BookingService.ConcurrencyControl.valueOf(name.trim()))
+                        .toList(),
+                Arrays.stream(env.getRequiredProperty("stress.isolation-levels", String[].class))
+                        .map(name -> Isolation.valueOf(name.trim()))
+                        .toList(),
+                env.getRequiredProperty("stress.threads", Integer.class),
+                env.getRequiredProperty("stress.rounds", Integer.class),
+                env.getRequiredProperty("stress.attempts-per-thread", Integer.class),
+                env.getRequiredProperty("stress.hot-seats", Integer.class),
+                env.getRequiredProperty("stress.seats-per-booking", Integer.class),
+                env.getRequiredProperty("stress.room-rows", Integer.class),
+                env.getRequiredProperty("stress.room-cols", Integer.class));
+        if (scenario.strategies.isEmpty() || scenario.isolationLevels.isEmpty()) {
+            throw new IllegalArgumentException("stress.strategies / isolation-levels không được để trống");
+        }
+        if (scenario.threads < 2 || scenario.rounds < 1 || scenario.attemptsPerThread < 1) {
+            throw new IllegalArgumentException("stress.threads phải >= 2, rounds / attempts-per-thread phải >= 1");
+        }
+        if (scenario.seatsPerBooking < 1 || scenario.seatsPerBooking > scenario.hotSeats) {
+            throw new IllegalArgumentException("stress.seats-per-booking phải từ 1 đến stress.hot-seats");
+        }
+        if (scenario.hotSeats > scenario.roomRows * scenario.roomCols) {
+            throw new IllegalArgumentException("stress.hot-seats vượt quá số ghế của phòng");
+        }
+        return scenario;
+    }
+
+    @Override
+    public String toString() {
+        return "seed=" + seed + ", strategies=" + strategies + ", isolation=" + isolationLevels
+                + ", threads=" + threads + ", rounds=" + rounds + ", attempts-per-thread=" + attemptsPerThread
+                + ", hot-seats=" + hotSeats + "/" + (roomRows * roomCols) + ", seats-per-booking=" + seatsPerBooking;
+    }
+}
@@ -0,0 +1,283 @@
+package com.cinema.loadtest;
+
+import com.cinema.CinemaApplication;
+import com.cinema.exception.SeatConflictException;
+import com.cinema.model.dto.request.BookingRequest;
+import com.cinema.model.entity.User;
+import com.cinema.model.enums.BookingStatus;
+import com.cinema.repository.SeatRepository;
+import com.cinema.repository.UserRepository;
+import com.cinema.security.CustomUserDetails;
+import com.cinema.service.BookingService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * DoubleBookingStressHarness - kiểm tra createBooking không bán 1 ghế 2 lần khi nhiều request đặt cùng lúc.
+ *
+ * Với mỗi chiến lược booking.concurrency-control (mỗi chiến lược 1 app riêng trên H2) × mỗi isolation level:
+ * 1. Seed N suất chiếu mới (1 suất / vòng), mỗi thread 1 customer
+ * 2. Mỗi vòng: mọi thread cùng bắt đầu, mỗi thread đặt attempts-per-thread lần, mỗi lần chọn ngẫu nhiên
+ *    seats-per-booking ghế trong hot-seats ghế đầu tiên của phòng (gọi thẳng BookingService)
+ *    - DEFAULT: transaction của chính createBooking (READ COMMITTED, như production)
+ *    - isolation khác: bọc trong transaction ngoài ở isolation đó (createBooking tham gia transaction ngoài) - để so sánh
+ * 3. Sau mỗi vòng kiểm tra bất biến: mỗi (suất chiếu, ghế) có tối đa 1 vé thuộc booking chưa hủy
+ * 4. Báo cáo: số lần đặt / thành công / xung đột / lỗi, throughput, latency, số ghế bị bán trùng
+ *
+ * Thoát với mã 1 nếu chiến lược khác NONE vẫn bán trùng ghế ở DEFAULT (NONE là mốc so sánh, được phép vi phạm).
+ *
+ * Chạy: mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.cinema.loadtest.DoubleBookingStressHarness
+ *       -Dloadtest.args="-Dstress.threads=32 -Dstress.isolation-levels=READ_COMMITTED"
+ */
+public class DoubleBookingStressHarness {
+
+    private static final String DUPLICATE_SEATS_QUERY = "SELECT t.seat.id, COUNT(t.id) FROM Ticket t JOIN t.booking b " +
+            "WHERE b.showtime.id = :showtimeId AND b.status <> :cancelled " +
+            "GROUP BY t.seat.id HAVING COUNT(t.id) > 1";
+
+    private final DoubleBookingScenario scenario;
+    private final BookingService bookingService;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SeatRepository seatRepository;
+    private final FlashSaleSeeder seeder;
+    private final List<User> users = new ArrayList<>();
+
+    /**
+     * Kết quả của 1 cặp (chiến lược, isolation level) qua mọi vòng
+     */
+    private record RunResult(BookingService.ConcurrencyControl strategy, Isolation isolation, LatencyRecorder recorder,
+                             long elapsedNanos, int violatedRounds, long doubleBookedSeats, long extraTickets) {
+    }
+
+    DoubleBookingStressHarness(DoubleBookingScenario scenario, ConfigurableApplicationContext context) {
+        this.scenario = scenario;
+        this.bookingService = context.getBean(BookingService.class);
+        this.transactionManager = context.getBean(PlatformTransactionManager.class);
+        this.entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        this.seatRepository = context.getBean(SeatRepository.class);
+        this.seeder = new FlashSaleSeeder(context);
+
+        seeder.seedUsers(scenario.threads());
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        for (int i = 0; i < scenario.threads(); i++) {
+            String email = FlashSaleSeeder.customerEmail(i);
+            users.add(userRepository.findByEmail(email)
+                    .orElseThrow(() -> new IllegalStateException("Chưa seed user " + email)));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        // Đọc kịch bản trước khi khởi động app: mỗi chiến lược cần 1 app riêng (booking.concurrency-control đọc lúc khởi tạo)
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new ResourcePropertySource("classpath:application-loadtest.properties"));
+        DoubleBookingScenario scenario = DoubleBookingScenario.from(environment);
+        System.out.println("Scenario: " + scenario);
+
+        List<RunResult> results = new ArrayList<>();
+        for (BookingService.ConcurrencyControl strategy : scenario.strategies()) {
+            SpringApplication application = new SpringApplication(CinemaApplication.class);
+            application.setAdditionalProfiles("test", "loadtest");
+            String[] contextArgs = new String[args.length + 1];
+            System.arraycopy(args, 0, contextArgs, 0, args.length);
+            contextArgs[args.length] = "--booking.concurrency-control=" + strategy;
+            // ddl-auto=create: mỗi app bắt đầu với schema rỗng
+            try (ConfigurableApplicationContext context = application.run(contextArgs)) {
+                DoubleBookingStressHarness harness = new DoubleBookingStressHarness(scenario, context);
+                for (Isolation isolation : scenario.isolationLevels()) {
+                    RunResult result = harness.run(strategy, isolation);
+                    System.out.printf("%s / %s done: %d double-booked seats%n", strategy, isolation, result.doubleBookedSeats());
+                    results.add(result);
+                }
+            }
+        }
+
+        boolean failed = printReport(scenario, results);
+        System.exit(failed ? 1 : 0);
+    }
+
+    private RunResult run(BookingService.ConcurrencyControl strategy, Isolation isolation) throws Exception {
+        TransactionTemplate transactionTemplate = null;
+        if (isolation != Isolation.DEFAULT) {
+            transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setIsolationLevel(isolation.value());
+        }
+
+        List<FlashSaleSeeder.SeededShowtime> showtimes =
+                seeder.seedShowtimes(scenario.rounds(), scenario.roomRows(), scenario.roomCols());
+        LatencyRecorder recorder = new LatencyRecorder();
+        ExecutorService executor = Executors.newFixedThreadPool(scenario.threads());
+        long elapsedNanos = 0;
+        int violatedRounds = 0;
+        long doubleBookedSeats = 0;
+        long extraTickets = 0;
+        try {
+            for (int round = 0; round < showtimes.size(); round++) {
+                FlashSaleSeeder.SeededShowtime showtime = showtimes.get(round);
+                List<Long> hotSeats = seatRepository.findIdsByRoomId(showtime.roomId()).stream()
+                        .limit(scenario.hotSeats())
+                        .map(SeatRepository.SeatIdView::getId)
+                        .toList();
+
+                TransactionTemplate outerTransaction = transactionTemplate;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>(scenario.threads());
+                for (int t = 0; t < scenario.threads(); t++) {
+                    User user = users.get(t);
+                    Random random = new Random(scenario.seed() + (long) round * scenario.threads() + t);
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        book(outerTransaction, recorder, user, showtime.showtimeId(), hotSeats, random);
+                        return null;
+                    }));
+                }
+                long roundStart = System.nanoTime();
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                elapsedNanos += System.nanoTime() - roundStart;
+
+                List<Object[]> duplicates = findDuplicateSeats(showtime.showtimeId());
+                if (!duplicates.isEmpty()) {
+                    violatedRounds++;
+                    doubleBookedSeats += duplicates.size();
+                    for (Object[] duplicate : duplicates) {
+                        extraTickets += ((Number) duplicate[1]).longValue() - 1;
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new RunResult(strategy, isolation, recorder, elapsedNanos, violatedRounds, doubleBookedSeats, extraTickets);
+    }
+
+    private void book(TransactionTemplate outerTransaction, LatencyRecorder recorder, User user,
+                      Long showtimeId, List<Long> hotSeats, Random random) {
+        CustomUserDetails principal = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        try {
+            for (int attempt = 0; attempt < scenario.attemptsPerThread(); attempt++) {
+                List<Long> candidates = new ArrayList<>(hotSeats);
+                Collections.shuffle(candidates, random);
+
+                BookingRequest request = new BookingRequest();
+                request.setShowtimeId(showtimeId);
+                request.setSeatIds(new ArrayList<>(candidates.subList(0, scenario.seatsPerBooking())));
+
+                long startNanos = System.nanoTime();
+                try {
+                    if (outerTransaction == null) {
+                        bookingService.createBooking(request);
+                    } else {
+                        outerTransaction.execute(status -> bookingService.createBooking(request));
+                    }
+                    recorder.count("booked");
+                } catch (SeatConflictException e) {
+                    recorder.count("conflict");
+                } catch (RuntimeException e) {
+                    recorder.count("error." + errorName(e));
+                }
+                recorder.record("book", startNanos);
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Bất biến: (suất chiếu, ghế) có tối đa 1 vé thuộc booking chưa hủy → trả về [seatId, số vé] của ghế vi phạm
+     */
+    private List<Object[]> findDuplicateSeats(Long showtimeId) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(DUPLICATE_SEATS_QUERY, Object[].class)
+                    .setParameter("showtimeId", showtimeId)
+                    .setParameter("cancelled", BookingStatus.CANCELLED)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static String errorName(RuntimeException e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause == e
+                ? e.getClass().getSimpleName()
+                : e.getClass().getSimpleName() + " (" + cause.getClass().getSimpleName() + ")";
+    }
+
+    /**
+     * In bảng kết quả, trả về true nếu chiến lược khác NONE vẫn bán trùng ghế ở DEFAULT
+     */
+    private static boolean printReport(DoubleBookingScenario scenario, List<RunResult> results) {
+        boolean failed = false;
+        System.out.println();
+        System.out.println("=== DOUBLE BOOKING STRESS REPORT ===");
+        System.out.println("Scenario: " + scenario);
+        System.out.printf("%-14s %-16s %8s %7s %8s %7s %10s %10s %10s  %s%n", "strategy", "isolation", "attempts",
+                "booked", "conflict", "errors", "attempts/s", "p50(ms)", "p99(ms)", "invariant");
+        for (RunResult result : results) {
+            LatencyRecorder recorder = result.recorder();
+            long attempts = recorder.samples("book");
+            long errors = recorder.countsWithPrefix("error.").values().stream().mapToLong(Long::longValue).sum();
+            double seconds = result.elapsedNanos() / 1e9;
+            String invariant = result.doubleBookedSeats() == 0
+                    ? "OK"
+                    : String.format("VIOLATED: %d seats double-booked (+%d tickets) in %d/%d rounds",
+                    result.doubleBookedSeats(), result.extraTickets(), result.violatedRounds(), scenario.rounds());
+            System.out.printf("%-14s %-16s %8d %7d %8d %7d %10.1f %10.2f %10.2f  %s%n", result.strategy(), result.isolation(),
+                    attempts, recorder.total("booked"), recorder.total("conflict"), errors,
+                    seconds > 0 ? attempts / seconds : 0, recorder.percentileMillis("book", 50),
+                    recorder.percentileMillis("book", 99), invariant);
+            if (result.doubleBookedSeats() > 0 && result.strategy() != BookingService.ConcurrencyControl.NONE
+                    && result.isolation() == Isolation.DEFAULT) {
+                failed = true;
+            }
+        }
+
+        System.out.println("(DEFAULT = transaction của createBooking như production; isolation khác = transaction ngoài, chỉ để so sánh)");
+
+        System.out.println();
+        System.out.println("Errors:");
+        boolean anyError = false;
+        for (RunResult result : results) {
+            for (Map.Entry<String, Long> error : result.recorder().countsWithPrefix("error.").entrySet()) {
+                System.out.printf("  %-14s %-16s %6d × %s%n", result.strategy(), result.isolation(), error.getValue(), error.getKey());
+                anyError = true;
+            }
+        }
+        if (!anyError) {
+            System.out.println("  (none)");
+        }
+        if (failed) {
+            System.out.println();
+            System.out.println("FAILED: có chiến lược khác NONE vẫn bán trùng ghế ở DEFAULT");
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,308 @@
+package com.cinema.loadtest;
+
+import com.cinema.CinemaApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FlashSaleLoadGenerator - tái hiện đêm mở bán suất chiếu premiere trên database nhúng (H2).
+ *
+ * 1. Khởi động app (profile test + loadtest: không DataSeeder, H2, port ngẫu nhiên, tắt rate limit)
+ * 2. Seed N suất chiếu + 1 customer / client (FlashSaleSeeder)
+ * 3. Pha đăng nhập: mọi client login đồng thời
+ * 4. Pha mở bán: mọi client cùng bắt đầu, mỗi lần đặt = xem sơ đồ ghế → (best-seats) → đặt vé → Admin confirm
+ * 5. Báo cáo: throughput, latency percentile theo bước, tỉ lệ xung đột ghế / lỗi, số SQL statement mỗi booking
+ *    (đọc từ metrics sql.request.* của SqlStatementFilter), tỉ lệ lấp đầy
+ *
+ * Chạy: mvn -Ploadtest test-compile exec:exec -Dloadtest.args="-Dloadtest.clients=2000 -Dloadtest.showtimes=5"
+ */
+public class FlashSaleLoadGenerator {
+
+    private static final String BOOKINGS_URI = "/api/bookings";
+    private static final String CONFIRM_URI = "/api/bookings/{id}/confirm";
+
+    private final FlashSaleScenario scenario;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    private List<FlashSaleSeeder.SeededShowtime> showtimes;
+    private final Map<Long, List<Long>> seatIdsByShowtime = new HashMap<>();
+    private String adminToken;
+
+    FlashSaleLoadGenerator(FlashSaleScenario scenario, String baseUrl) {
+        this.scenario = scenario;
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(scenario.requestTimeout())
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        // DevTools có trên test classpath: không restart / live reload trong lúc đo
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        SpringApplication application = new SpringApplication(CinemaApplication.class);
+        application.setAdditionalProfiles("test", "loadtest");
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            FlashSaleScenario scenario = FlashSaleScenario.from(context.getEnvironment());
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            FlashSaleLoadGenerator generator = new FlashSaleLoadGenerator(scenario, "http://localhost:" + port);
+
+            System.out.println("Scenario: " + scenario);
+            long seedStart = System.nanoTime();
+            FlashSaleSeeder seeder = new FlashSaleSeeder(context);
+            seeder.seedUsers(scenario.clients());
+            generator.showtimes = seeder.seedShowtimes(scenario.showtimes(), scenario.roomRows(), scenario.roomCols());
+            System.out.printf("Seeded %d customers + %d showtimes in %.1fs%n", scenario.clients(),
+                    scenario.showtimes(), (System.nanoTime() - seedStart) / 1e9);
+
+            generator.run(context.getBean(MeterRegistry.class));
+        }
+        System.exit(0);
+    }
+
+    private void run(MeterRegistry meterRegistry) throws Exception {
+        adminToken = login(FlashSaleSeeder.ADMIN_EMAIL);
+        for (FlashSaleSeeder.SeededShowtime showtime : showtimes) {
+            List<Long> seatIds = new ArrayList<>();
+            get("/api/rooms/" + showtime.roomId() + "/seats", adminToken).body().forEach(seat -> seatIds.add(seat.get("id").asLong()));
+            seatIdsByShowtime.put(showtime.showtimeId(), seatIds);
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(scenario.clients());
+        String[] tokens = new String[scenario.clients()];
+        CountDownLatch saleOpens = new CountDownLatch(1);
+        CountDownLatch loggedIn = new CountDownLatch(scenario.clients());
+        List<Future<?>> futures = new ArrayList<>(scenario.clients());
+
+        long loginStart = System.nanoTime();
+        for (int i = 0; i < scenario.clients(); i++) {
+            int clientIndex = i;
+            futures.add(clients.submit(() -> {
+                try {
+                    tokens[clientIndex] = login(FlashSaleSeeder.customerEmail(clientIndex));
+                } catch (Exception ex) {
+                    recorder.count("error.login " + ex.getMessage());
+                } finally {
+                    loggedIn.countDown();
+                }
+                saleOpens.await();
+                if (tokens[clientIndex] != null) {
+                    runClient(clientIndex, tokens[clientIndex]);
+                }
+                return null;
+            }));
+        }
+        loggedIn.await();
+        double loginSeconds = (System.nanoTime() - loginStart) / 1e9;
+
+        long saleStart = System.nanoTime();
+        saleOpens.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double saleSeconds = (System.nanoTime() - saleStart) / 1e9;
+        clients.shutdown();
+
+        report(meterRegistry, loginSeconds, saleSeconds);
+    }
+
+    /**
+     * 1 client: bookings-per-client lần (xem ghế → chọn ghế → đặt → confirm), lựa chọn theo Random(seed + client)
+     */
+    private void runClient(int clientIndex, String token) throws InterruptedException {
+        Random random = new Random(scenario.seed() + clientIndex);
+        for (int attempt = 0; attempt < scenario.bookingsPerClient(); attempt++) {
+            FlashSaleSeeder.SeededShowtime showtime = showtimes.get(random.nextInt(showtimes.size()));
+            boolean useBestSeats = random.nextDouble() < scenario.bestSeatsRatio();
+            boolean confirm = random.nextDouble() < scenario.confirmRatio();
+            try {
+                List<Long> seatIds = useBestSeats
+                        ? bestSeats(showtime.showtimeId(), token)
+                        : randomFreeSeats(showtime.showtimeId(), token, random);
+                if (seatIds.isEmpty()) {
+                    recorder.count("sold-out");
+                } else {
+                    book(showtime.showtimeId(), seatIds, token, confirm);
+                }
+            } catch (IOException ex) {
+                recorder.count("error.io " + ex.getClass().getSimpleName());
+            }
+            if (!scenario.thinkTime().isZero()) {
+                Thread.sleep(scenario.thinkTime().toMillis());
+            }
+        }
+    }
+
+    private List<Long> bestSeats(Long showtimeId, String token) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Response response = get("/api/showtimes/" + showtimeId + "/best-seats?count=" + scenario.seatsPerBooking(), token);
+        recorder.record("best-seats", start);
+        if (response.status() != 200) {
+            recorder.count("error.best-seats " + response.status());
+            return List.of();
+        }
+        JsonNode suggestions = response.body().path("suggestions");
+        List<Long> seatIds = new ArrayList<>();
+        if (suggestions.size() > 0) {
+            suggestions.get(0).path("seatIds").forEach(id -> seatIds.add(id.asLong()));
+        }
+        return seatIds;
+    }
+
+    private List<Long> randomFreeSeats(Long showtimeId, String token, Random random) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Response response = get(BOOKINGS_URI + "/showtime/" + showtimeId + "/seats", token);
+        recorder.record("seat-map", start);
+        if (response.status() != 200) {
+            recorder.count("error.seat-map " + response.status());
+            return List.of();
+        }
+        Set<Long> booked = new HashSet<>();
+        response.body().forEach(ticket -> booked.add(ticket.get("seatId").asLong()));
+        List<Long> free = new ArrayList<>(seatIdsByShowtime.get(showtimeId));
+        free.removeAll(booked);
+        if (free.size() < scenario.seatsPerBooking()) {
+            return List.of();
+        }
+        List<Long> chosen = new ArrayList<>(scenario.seatsPerBooking());
+        for (int i = 0; i < scenario.seatsPerBooking(); i++) {
+            chosen.add(free.remove(random.nextInt(free.size())));
+        }
+        return chosen;
+    }
+
+    private void book(Long showtimeId, List<Long> seatIds, String token, boolean confirm) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Response response = send("POST", BOOKINGS_URI, Map.of("showtimeId", showtimeId, "seatIds", seatIds), token);
+        recorder.record("book", start);
+        if (response.status() == 200) {
+            recorder.count("booked");
+            recorder.count("seats-sold." + seatIds.size());
+        } else if (response.status() == 400 && response.body().has("suggestions")) {
+            recorder.count("conflict");
+            return;
+        } else {
+            recorder.count("error.book " + response.status());
+            return;
+        }
+        if (!confirm) {
+            return;
+        }
+        long confirmStart = System.nanoTime();
+        Response confirmed = send("PUT", BOOKINGS_URI + "/" + response.body().get("id").asLong() + "/confirm", null, adminToken);
+        recorder.record("confirm", confirmStart);
+        recorder.count(confirmed.status() == 200 ? "confirmed" : "error.confirm " + confirmed.status());
+    }
+
+    private String login(String email) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Response response = send("POST", "/api/auth/login",
+                Map.of("username", email, "password", FlashSaleSeeder.PASSWORD), null);
+        recorder.record("login", start);
+        if (response.status() != 200) {
+            throw new IOException("HTTP " + response.status());
+        }
+        return response.body().get("token").asText();
+    }
+
+    private void report(MeterRegistry meterRegistry, double loginSeconds, double saleSeconds) {
+        long attempts = (long) scenario.clients() * scenario.bookingsPerClient();
+        long booked = recorder.total("booked");
+        long conflicts = recorder.total("conflict");
+        long soldOut = recorder.total("sold-out");
+        Map<String, Long> errors = recorder.countsWithPrefix("error.");
+        long errorCount = errors.values().stream().mapToLong(Long::longValue).sum();
+        long bookRequests = recorder.samples("book");
+        long requests = recorder.samples("seat-map") + recorder.samples("best-seats") + bookRequests + recorder.samples("confirm");
+        long seatsSold = 0;
+        for (Map.Entry<String, Long> entry : recorder.countsWithPrefix("seats-sold.").entrySet()) {
+            seatsSold += Long.parseLong(entry.getKey()) * entry.getValue();
+        }
+        long capacity = seatIdsByShowtime.values().stream().mapToLong(List::size).sum();
+
+        System.out.println();
+        System.out.println("=== FLASH SALE REPORT ===");
+        System.out.println("Scenario: " + scenario);
+        System.out.printf("Login phase : %d clients in %.2fs (%.1f logins/s)%n",
+                scenario.clients(), loginSeconds, scenario.clients() / loginSeconds);
+        System.out.printf("Sale phase  : %.2fs, %d requests (%.1f req/s), %d bookings (%.1f bookings/s)%n",
+                saleSeconds, requests, requests / saleSeconds, booked, booked / saleSeconds);
+        System.out.printf("Attempts    : %d → booked %d, seat conflict %d (%.1f%% of booking requests), sold out %d%n",
+                attempts, booked, conflicts, bookRequests > 0 ? conflicts * 100.0 / bookRequests : 0, soldOut);
+        System.out.printf("Confirmed   : %d%n", recorder.total("confirmed"));
+        System.out.printf("Errors      : %d (%.2f%% of requests) %s%n",
+                errorCount, requests > 0 ? errorCount * 100.0 / requests : 0, errors.isEmpty() ? "" : errors);
+        System.out.printf("Seats sold  : %d / %d (%.1f%%)%n", seatsSold, capacity, capacity > 0 ? seatsSold * 100.0 / capacity : 0);
+        System.out.println();
+        System.out.println("Latency:");
+        for (String step : List.of("login", "seat-map", "best-seats", "book", "confirm")) {
+            System.out.println("  " + recorder.summary(step));
+        }
+        System.out.println();
+        System.out.println("DB per request (SqlStatementFilter):");
+        System.out.println("  " + sqlSummary(meterRegistry, "POST", BOOKINGS_URI, "createBooking"));
+        System.out.println("  " + sqlSummary(meterRegistry, "PUT", CONFIRM_URI, "confirmBooking"));
+    }
+
+    private static String sqlSummary(MeterRegistry meterRegistry, String method, String uri, String label) {
+        DistributionSummary statements = meterRegistry.find("sql.request.statements")
+                .tags("method", method, "uri", uri).summary();
+        Timer dbTime = meterRegistry.find("sql.request.time").tags("method", method, "uri", uri).timer();
+        if (statements == null || statements.count() == 0) {
+            return String.format("%-15s no samples", label);
+        }
+        return String.format("%-15s statements avg=%.1f max=%.0f, DB time avg=%.2fms max=%.2fms", label,
+                statements.mean(), statements.max(),
+                dbTime != null ? dbTime.mean(TimeUnit.MILLISECONDS) : 0, dbTime != null ? dbTime.max(TimeUnit.MILLISECONDS) : 0);
+    }
+
+    private record Response(int status, JsonNode body) {
+    }
+
+    private Response get(String path, String token) throws IOException, InterruptedException {
+        return send("GET", path, null, token);
+    }
+
+    private Response send(String method, String path, Object body, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(scenario.requestTimeout())
+                .header("Content-Type", "application/json")
+                .method(method, body != null
+                        ? HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))
+                        : HttpRequest.BodyPublishers.noBody());
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        JsonNode json = response.body().length > 0 ? objectMapper.readTree(response.body()) : objectMapper.nullNode();
+        return new Response(response.statusCode(), json);
+    }
+}
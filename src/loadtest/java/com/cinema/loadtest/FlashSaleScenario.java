@@ -0,0 +1,54 @@
+package com.cinema.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Cấu hình kịch bản flash sale (loadtest.* trong application-loadtest.properties).
+ *
+ * Cùng seed + cùng cấu hình → mỗi client đưa ra cùng chuỗi lựa chọn (suất chiếu, cách chọn ghế, có confirm hay không),
+ * kết quả chỉ khác nhau do thứ tự request thực tế giữa các thread.
+ */
+record FlashSaleScenario(long seed,
+                         int clients,
+                         int showtimes,
+                         int roomRows,
+                         int roomCols,
+                         int bookingsPerClient,
+                         int seatsPerBooking,
+                         double bestSeatsRatio,
+                         double confirmRatio,
+                         Duration thinkTime,
+                         Duration requestTimeout) {
+
+    static FlashSaleScenario from(Environment env) {
+        FlashSaleScenario scenario = new FlashSaleScenario(
+                env.getRequiredProperty("loadtest.seed", Long.class),
+                env.getRequiredProperty("loadtest.clients", Integer.class),
+                env.getRequiredProperty("loadtest.showtimes", Integer.class),
+                env.getRequiredProperty("loadtest.room-rows", Integer.class),
+                env.getRequiredProperty("loadtest.room-cols", Integer.class),
+                env.getRequiredProperty("loadtest.bookings-per-client", Integer.class),
+                env.getRequiredProperty("loadtest.seats-per-booking", Integer.class),
+                env.getRequiredProperty("loadtest.best-seats-ratio", Double.class),
+                env.getRequiredProperty("loadtest.confirm-ratio", Double.class),
+                env.getRequiredProperty("loadtest.think-time", Duration.class),
+                env.getRequiredProperty("loadtest.request-timeout", Duration.class));
+        if (scenario.clients < 1 || scenario.showtimes < 1 || scenario.bookingsPerClient < 1) {
+            throw new IllegalArgumentException("loadtest.clients / showtimes / bookings-per-client phải >= 1");
+        }
+        if (scenario.seatsPerBooking < 1 || scenario.seatsPerBooking > 10) {
+            throw new IllegalArgumentException("loadtest.seats-per-booking phải từ 1 đến 10");
+        }
+        return scenario;
+    }
+
+    @Override
+    public String toString() {
+        return "seed=" + seed + ", clients=" + clients + ", showtimes=" + showtimes
+                + " (" + roomRows + "x" + roomCols + " ghế), bookings-per-client=" + bookingsPerClient
+                + ", seats-per-booking=" + seatsPerBooking + ", best-seats-ratio=" + bestSeatsRatio
+                + ", confirm-ratio=" + confirmRatio + ", think-time=" + thinkTime.toMillis() + "ms";
+    }
+}
@@ -0,0 +1,160 @@
+package com.cinema.loadtest;
+
+import com.cinema.model.entity.Cinema;
+import com.cinema.model.entity.Movie;
+import com.cinema.model.entity.Room;
+import com.cinema.model.entity.Seat;
+import com.cinema.model.entity.Showtime;
+import com.cinema.model.entity.User;
+import com.cinema.model.enums.MovieStatus;
+import com.cinema.model.enums.SeatType;
+import com.cinema.model.enums.UserRole;
+import com.cinema.model.enums.UserStatus;
+import com.cinema.repository.CinemaRepository;
+import com.cinema.repository.MovieRepository;
+import com.cinema.repository.RoomRepository;
+import com.cinema.repository.SeatRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.repository.UserRepository;
+import com.cinema.service.SeatLayout;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seed dữ liệu cho kịch bản flash sale, theo cách của DataSeeder (repository + saveAll), nhưng:
+ * - 1 Admin + N customer (mỗi client 1 customer), mật khẩu hash 1 lần rồi dùng chung (seed nhanh)
+ * - 1 rạp, 1 phim NOW_SHOWING, mỗi suất chiếu 1 phòng riêng (sơ đồ ghế ghi sẵn, 2 hàng cuối VIP)
+ * - Suất chiếu 19:00 ngày mai, chưa có vé nào
+ */
+class FlashSaleSeeder {
+
+    static final String ADMIN_EMAIL = "admin@loadtest.local";
+    static final String PASSWORD = "123456";
+
+    private static final int USER_BATCH_SIZE = 500;
+
+    record SeededShowtime(Long showtimeId, Long roomId) {
+    }
+
+    private final UserRepository userRepository;
+    private final MovieRepository movieRepository;
+    private final CinemaRepository cinemaRepository;
+    private final RoomRepository roomRepository;
+    private final SeatRepository seatRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    FlashSaleSeeder(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.movieRepository = context.getBean(MovieRepository.class);
+        this.cinemaRepository = context.getBean(CinemaRepository.class);
+        this.roomRepository = context.getBean(RoomRepository.class);
+        this.seatRepository = context.getBean(SeatRepository.class);
+        this.showtimeRepository = context.getBean(ShowtimeRepository.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    static String customerEmail(int index) {
+        return "loadtest" + index + "@example.com";
+    }
+
+    void seedUsers(int customers) {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<User> batch = new ArrayList<>(USER_BATCH_SIZE);
+        batch.add(user("loadtest-admin", ADMIN_EMAIL, passwordHash, UserRole.ADMIN));
+        for (int i = 0; i < customers; i++) {
+            batch.add(user("loadtest" + i, customerEmail(i), passwordHash, UserRole.CUSTOMER));
+            if (batch.size() == USER_BATCH_SIZE) {
+                saveUsers(batch);
+                batch = new ArrayList<>(USER_BATCH_SIZE);
+            }
+        }
+        saveUsers(batch);
+    }
+
+    List<SeededShowtime> seedShowtimes(int count, int rows, int cols) {
+        return transactionTemplate.execute(status -> {
+            Cinema cinema = new Cinema();
+            cinema.setName("Flash Sale Cinema");
+            cinema.setAddress("1 Đường Load Test");
+            cinema = cinemaRepository.save(cinema);
+
+            Movie movie = new Movie();
+            movie.setTitle("Premiere Night");
+            movie.setGenre("Action");
+            movie.setDuration(150);
+            movie.setReleaseDate(LocalDate.now());
+            movie.setEndDate(LocalDate.now().plusWeeks(4));
+            movie.setStatus(MovieStatus.NOW_SHOWING);
+            movie.setAgeRating("T13");
+            movie = movieRepository.save(movie);
+
+            SeatLayout layout = SeatLayout.uniform(rows, cols, SeatType.NORMAL)
+                    .withRowType(Math.max(0, rows - 2), rows - 1, SeatType.VIP);
+
+            List<SeededShowtime> seeded = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Room room = createRoom(cinema, "Phòng " + (i + 1), layout);
+
+                Showtime showtime = new Showtime();
+                showtime.setMovie(movie);
+                showtime.setRoom(room);
+                showtime.setStartTime(LocalDate.now().plusDays(1).atTime(LocalTime.of(19, 0)));
+                showtime.setEndTime(showtime.getStartTime().plusMinutes(movie.getDuration() + 10L));
+                showtime.setPrice(BigDecimal.valueOf(75000));
+                showtime = showtimeRepository.save(showtime);
+                seeded.add(new SeededShowtime(showtime.getId(), room.getId()));
+            }
+            return seeded;
+        });
+    }
+
+    private void saveUsers(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+    }
+
+    private Room createRoom(Cinema cinema, String roomNumber, SeatLayout layout) {
+        Room room = new Room();
+        room.setCinema(cinema);
+        room.setRoomNumber(roomNumber);
+        room.setTotalRows(layout.rowCount());
+        room.setTotalCols(layout.width());
+        room.setTotalSeats(layout.seatCount());
+        room.setSeatLayout(layout.encode());
+        room.setLayoutVersion(1);
+        room = roomRepository.save(room);
+
+        List<Seat> seats = new ArrayList<>(layout.seatCount());
+        for (SeatLayout.Position position : layout.positions()) {
+            Seat seat = new Seat();
+            seat.setSeatNumber(position.label());
+            seat.setRow(position.row());
+            seat.setCol(position.col());
+            seat.setType(position.type());
+            seats.add(seat);
+        }
+        seatRepository.insertAllForRoom(room.getId(), seats);
+        return room;
+    }
+
+    private static User user(String username, String email, String passwordHash, UserRole role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword(passwordHash);
+        user.setFullName(username);
+        user.setRole(role);
+        user.setStatus(UserStatus.ACTIVE);
+        return user;
+    }
+}
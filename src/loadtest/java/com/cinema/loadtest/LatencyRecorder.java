@@ -0,0 +1,97 @@
+package com.cinema.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ghi latency (micro giây) theo bước + đếm kết quả theo nhãn, dùng chung cho mọi client thread.
+ * Giữ toàn bộ mẫu (vài chục nghìn request / lần chạy) rồi sort khi in báo cáo → percentile chính xác.
+ */
+class LatencyRecorder {
+
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    void record(String step, long startNanos) {
+        long micros = (System.nanoTime() - startNanos) / 1_000;
+        samples.computeIfAbsent(step, key -> new ConcurrentLinkedQueue<>()).add(micros);
+    }
+
+    void count(String outcome) {
+        counters.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    long total(String... outcomes) {
+        long total = 0;
+        for (String outcome : outcomes) {
+            total += counter(outcome);
+        }
+        return total;
+    }
+
+    long samples(String step) {
+        ConcurrentLinkedQueue<Long> values = samples.get(step);
+        return values != null ? values.size() : 0;
+    }
+
+    /**
+     * Các nhãn bắt đầu bằng prefix (vd. "error.") → số lần
+     */
+    Map<String, Long> countsWithPrefix(String prefix) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counters.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> result.put(entry.getKey().substring(prefix.length()), entry.getValue().sum()));
+        return result;
+    }
+
+    /**
+     * 1 dòng: số mẫu, trung bình, p50 / p90 / p95 / p99 / p99.9, max (ms)
+     */
+    String summary(String step) {
+        ConcurrentLinkedQueue<Long> values = samples.get(step);
+        if (values == null || values.isEmpty()) {
+            return String.format("%-12s no samples", step);
+        }
+        long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        StringBuilder line = new StringBuilder(String.format("%-12s n=%-7d avg=%8.2fms", step, sorted.length,
+                Arrays.stream(sorted).average().orElse(0) / 1000.0));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format("  p%s=%8.2fms", percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile),
+                    percentile(sorted, percentile) / 1000.0));
+        }
+        line.append(String.format("  max=%8.2fms", sorted[sorted.length - 1] / 1000.0));
+        return line.toString();
+    }
+
+    /**
+     * Percentile (ms) của 1 bước, 0 nếu chưa có mẫu
+     */
+    double percentileMillis(String step, double percentile) {
+        ConcurrentLinkedQueue<Long> values = samples.get(step);
+        if (values == null || values.isEmpty()) {
+            return 0;
+        }
+        long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return percentile(sorted, percentile) / 1000.0;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(0, index)];
+    }
+
+    private long counter(String outcome) {
+        LongAdder adder = counters.get(outcome);
+        return adder != null ? adder.sum() : 0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.cinema.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Chọn connection pool cho service / method (xem PoolRoutingDataSource).
+ *
+ * Đặt ở class = mặc định cho mọi method, đặt ở method = ghi đè cho riêng method đó.
+ * Không có annotation → pool WRITE.
+ * Chỉ có tác dụng khi method được gọi qua proxy của Spring (giống @Transactional),
+ * và pool được chọn lúc transaction lấy connection: method lồng trong transaction đang chạy dùng tiếp pool ngoài.
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DataSourcePool {
+
+    Pool value();
+
+    enum Pool {
+        // Đặt vé, thanh toán, đăng nhập... - mặc định
+        WRITE("write"),
+        // Đọc catalog công khai (phim, rạp, phòng, lịch chiếu) - nhiều request ẩn danh
+        CATALOG("catalog"),
+        // Thao tác admin, báo cáo, job chạy nền
+        ADMIN("admin");
+
+        private final String poolName;
+
+        Pool(String poolName) {
+            this.poolName = poolName;
+        }
+
+        public String getPoolName() {
+            return poolName;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.cinema.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * DataSourcePoolAspect - đặt pool của @DataSourcePool vào PoolRoutingDataSource trong lúc method chạy.
+ *
+ * Order cao nhất → chạy BÊN NGOÀI @Transactional, pool đã được chọn trước khi transaction lấy connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DataSourcePoolAspect {
+
+    @Around("@within(com.cinema.config.DataSourcePool) || @annotation(com.cinema.config.DataSourcePool)")
+    public Object usePool(ProceedingJoinPoint joinPoint) throws Throwable {
+        DataSourcePool.Pool previous = PoolRoutingDataSource.use(resolvePool(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            PoolRoutingDataSource.restore(previous);
+        }
+    }
+
+    /**
+     * Annotation ở method ưu tiên hơn annotation ở class
+     */
+    private static DataSourcePool.Pool resolvePool(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+        DataSourcePool annotation = AnnotatedElementUtils.findMergedAnnotation(method, DataSourcePool.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, DataSourcePool.class);
+        }
+        return annotation != null ? annotation.value() : DataSourcePool.Pool.WRITE;
+    }
+}
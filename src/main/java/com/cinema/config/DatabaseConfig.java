@@ -1,15 +1,30 @@
 package com.cinema.config;
 
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
 
 import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Configuration để tự động detect database type từ DATABASE_URL
@@ -19,6 +34,7 @@ import javax.sql.DataSource;
  */
 @Configuration
 @Slf4j
+@RequiredArgsConstructor
 @Order(1) // Chạy trước các config khác để override driver
 public class DatabaseConfig {
 
@@ -52,46 +68,212 @@ public class DatabaseConfig {
     @Value("${spring.datasource.driver-class-name:com.mysql.cj.jdbc.Driver}")
     private String datasourceDriver;
 
+    // Replica chỉ đọc (tùy chọn): danh sách JDBC URL cách nhau dấu phẩy, để trống = chỉ dùng primary
+    @Value("${datasource.replicas.urls:}")
+    private String replicaUrls;
+
+    @Value("${datasource.replicas.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replicas.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replicas.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${datasource.replicas.pin-window:5s}")
+    private Duration replicaPinWindow;
+
+    @Value("${datasource.replicas.health-check-interval:5s}")
+    private Duration replicaHealthCheckInterval;
+
+    // Mặc định của từng pool, ghi đè bằng datasource.pools.<write|catalog|admin>.*
+    private record PoolDefaults(int maximumPoolSize, int minimumIdle, Duration connectionTimeout) {
+    }
+
+    private static final Map<DataSourcePool.Pool, PoolDefaults> POOL_DEFAULTS = Map.of(
+            DataSourcePool.Pool.WRITE, new PoolDefaults(10, 2, Duration.ofSeconds(10)),
+            DataSourcePool.Pool.CATALOG, new PoolDefaults(8, 2, Duration.ofSeconds(3)),
+            DataSourcePool.Pool.ADMIN, new PoolDefaults(3, 0, Duration.ofSeconds(30)));
+
+    private final Environment environment;
+
+    // Đếm SQL theo request (SqlStatementFilter) qua datasource-proxy
+    @Value("${sql-stats.enabled:true}")
+    private boolean sqlStatsEnabled;
+
+    // Đếm cả row đọc (ResultSet.next): phải proxy mọi ResultSet + lời gọi JDBC, chỉ bật khi điều tra
+    @Value("${sql-stats.count-rows:false}")
+    private boolean sqlStatsCountRows;
+
+    // Giữ lại để đóng pool khi tắt app (bean trả ra là proxy, Spring không tự đóng pool bên trong)
+    private Runnable poolCloser;
+
+    /**
+     * DataSource chính của ứng dụng:
+     * - Primary chia thành pool WRITE / CATALOG / ADMIN, chọn theo @DataSourcePool của service
+     * - Không cấu hình replica → chỉ dùng primary
+     * - Có replica → transaction readOnly đi replica, còn lại đi primary (ReplicaRoutingDataSource),
+     *   bọc LazyConnectionDataSourceProxy để chọn DataSource sau khi transaction đã biết là readOnly
+     * - Ngoài cùng là datasource-proxy (SqlStatementListener) nếu sql-stats.enabled;
+     *   sql-stats.count-rows bật thêm proxy ResultSet để đếm row đọc (mỗi lời gọi JDBC đi qua method listener)
+     */
     @Bean
     @Primary
-    public DataSource dataSource() {
+    public DataSource dataSource(MeterRegistry meterRegistry) {
+        DataSource dataSource = routingDataSource(meterRegistry);
+        if (!sqlStatsEnabled) {
+            return dataSource;
+        }
+        SqlStatementListener listener = new SqlStatementListener();
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                .name("cinema")
+                .listener(listener);
+        if (sqlStatsCountRows) {
+            builder.methodListener(listener).proxyResultSet();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Hibernate trả connection sau mỗi transaction thay vì giữ tới khi đóng Session.
+     * open-in-view giữ Session cả request: nếu giữ connection, mọi transaction sau trong cùng request dùng lại
+     * connection của transaction đầu tiên - sai pool (@DataSourcePool ADMIN / WRITE chạy trên connection CATALOG),
+     * sai đích (ghi trên connection replica), và connection bị chiếm suốt lúc serialize response.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @PreDestroy
+    public void closePools() {
+        if (poolCloser != null) {
+            poolCloser.run();
+        }
+    }
+
+    private DataSource routingDataSource(MeterRegistry meterRegistry) {
+        PoolRoutingDataSource primary = primaryDataSource(meterRegistry);
+        poolCloser = primary::close;
+        if (!hasReplicas()) {
+            return primary;
+        }
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        String[] urls = replicaUrls.split(",");
+        for (int i = 0; i < urls.length; i++) {
+            String url = urls[i].trim();
+            if (url.isEmpty()) {
+                continue;
+            }
+            String name = "replica-" + (i + 1);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url);
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            // Không set driver: Hikari chọn qua DriverManager theo URL (mysql / postgresql / h2 khi chạy thử)
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setMinimumIdle(1);
+            replica.setConnectionTimeout(5000);
+            replica.setReadOnly(true);
+            replica.setMetricRegistry(meterRegistry);
+            // Replica chưa lên lúc khởi động không chặn app: health check sẽ đưa vào dùng khi kết nối được
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(name, replica);
+            log.info("Read replica {}: {}", name, url.replaceAll(":[^:@/]+@", ":****@"));
+        }
+
+        ReplicaRoutingDataSource replicaRouting = new ReplicaRoutingDataSource(
+                primary, replicas, replicaPinWindow, replicaHealthCheckInterval, meterRegistry);
+        replicaRouting.afterPropertiesSet();
+        poolCloser = replicaRouting::close;
+        return new LazyConnectionDataSourceProxy(replicaRouting);
+    }
+
+    private boolean hasReplicas() {
+        return replicaUrls != null && !replicaUrls.isBlank();
+    }
+
+    /**
+     * Primary (đọc + ghi), chia thành các pool WRITE / CATALOG / ADMIN (PoolRoutingDataSource)
+     */
+    private PoolRoutingDataSource primaryDataSource(MeterRegistry meterRegistry) {
         // Build URL từ env vars
         String finalUrl = buildDatabaseUrl();
-        
+        String url;
+        String username;
+        String password;
+        String driverClassName;
+
         // Nếu có DATABASE_URL hoặc MYSQL_URL → build DataSource từ đầu (override hoàn toàn)
         if (finalUrl != null && !finalUrl.isEmpty()) {
-            String driverClassName = detectDriverFromUrl(finalUrl);
-            
-            HikariDataSource dataSource = new HikariDataSource();
-            dataSource.setJdbcUrl(finalUrl);
-            dataSource.setDriverClassName(driverClassName);
-            
-            // Set pool config
-            dataSource.setMaximumPoolSize(10);
-            dataSource.setMinimumIdle(2);
-            dataSource.setConnectionTimeout(30000);
-            
+            url = finalUrl;
+            username = null;
+            password = null;
+            driverClassName = detectDriverFromUrl(finalUrl);
+
             log.info("=== Using Render/Railway/Production database config ===");
             log.info("Database URL: {}", finalUrl.replaceAll(":[^:@]+@", ":****@"));
             log.info("Auto-detected driver: {}", driverClassName);
             log.info("=== Overriding datasource from application.properties ===");
-            
-            return dataSource;
+        } else {
+            // Không có env vars → tạo DataSource từ application.properties
+            log.info("Using default Spring Boot datasource configuration from application.properties");
+            url = datasourceUrl;
+            username = datasourceUsername;
+            password = datasourcePassword;
+            driverClassName = datasourceDriver;
         }
-        
-        // Không có env vars → tạo DataSource từ application.properties
-        log.info("Using default Spring Boot datasource configuration from application.properties");
-        
-        HikariDataSource dataSource = new HikariDataSource();
-        dataSource.setJdbcUrl(datasourceUrl);
-        dataSource.setUsername(datasourceUsername);
-        dataSource.setPassword(datasourcePassword);
-        dataSource.setDriverClassName(datasourceDriver);
-        dataSource.setMaximumPoolSize(10);
-        dataSource.setMinimumIdle(2);
-        dataSource.setConnectionTimeout(30000);
-        
-        return dataSource;
+
+        Map<DataSourcePool.Pool, DataSource> pools = new EnumMap<>(DataSourcePool.Pool.class);
+        for (DataSourcePool.Pool pool : DataSourcePool.Pool.values()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(pool.getPoolName());
+            dataSource.setJdbcUrl(url);
+            if (username != null) {
+                dataSource.setUsername(username);
+                dataSource.setPassword(password);
+            }
+            dataSource.setDriverClassName(driverClassName);
+            configurePool(dataSource, pool, meterRegistry);
+            pools.put(pool, dataSource);
+        }
+
+        PoolRoutingDataSource routing = new PoolRoutingDataSource(pools);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    /**
+     * Kích thước + timeout theo datasource.pools.<tên pool>.*, kèm metrics cho pool
+     * (hikaricp.connections.* của Hikari + datasource.pool.utilization)
+     */
+    private void configurePool(HikariDataSource dataSource, DataSourcePool.Pool pool, MeterRegistry meterRegistry) {
+        PoolDefaults defaults = POOL_DEFAULTS.get(pool);
+        String prefix = "datasource.pools." + pool.getPoolName() + ".";
+        dataSource.setMaximumPoolSize(environment.getProperty(prefix + "maximum-pool-size", Integer.class, defaults.maximumPoolSize()));
+        dataSource.setMinimumIdle(environment.getProperty(prefix + "minimum-idle", Integer.class, defaults.minimumIdle()));
+        dataSource.setConnectionTimeout(environment.getProperty(prefix + "connection-timeout", Duration.class, defaults.connectionTimeout()).toMillis());
+        dataSource.setMetricRegistry(meterRegistry);
+
+        Gauge.builder("datasource.pool.utilization", dataSource, DatabaseConfig::utilization)
+                .tag("pool", pool.getPoolName())
+                .description("Tỉ lệ connection đang được dùng / kích thước tối đa")
+                .register(meterRegistry);
+
+        log.info("Connection pool {}: max={}, minIdle={}, connectionTimeout={}ms", pool.getPoolName(),
+                dataSource.getMaximumPoolSize(), dataSource.getMinimumIdle(), dataSource.getConnectionTimeout());
+    }
+
+    private static double utilization(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0;
+        }
+        return (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize();
     }
 
     /**
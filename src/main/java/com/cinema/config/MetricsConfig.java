@@ -0,0 +1,42 @@
+package com.cinema.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MetricsConfig - cấu hình Micrometer chung (Prometheus scrape tại /actuator/prometheus).
+ *
+ * - @Timed trên service (booking.create / booking.confirm / booking.cancel) cần TimedAspect
+ * - Giữ số series có giới hạn: tag uri luôn là pattern của route (/api/showtimes/{id}), không bao giờ là id thật;
+ *   chặn thêm bằng maximumAllowableTags phòng trường hợp route mới đăng ký sai → metrics.max-uri-tags
+ *
+ * Metrics chính cho đường đặt vé:
+ *   booking.create / booking.confirm / booking.cancel   timer + histogram, tag exception
+ *   booking.seat.conflicts                              số lần đặt trùng ghế (chia cho booking.create = tỉ lệ xung đột)
+ *   auth.jwt.verify{result=cache_hit|valid|invalid}     thời gian verify JWT
+ *   cache.gets{cache,result=hit|miss}                   jwt-verified, principals, room-seat-map
+ *   hikaricp.connections.* / datasource.pool.utilization   connection pool (xem DatabaseConfig)
+ *   http.server.requests                                latency theo endpoint (histogram)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterFilter httpUriTagLimit(@Value("${metrics.max-uri-tags:150}") int maxUriTags) {
+        return MeterFilter.maximumAllowableTags("http.server.requests", "uri", maxUriTags, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter sqlUriTagLimit(@Value("${metrics.max-uri-tags:150}") int maxUriTags) {
+        return MeterFilter.maximumAllowableTags("sql.request", "uri", maxUriTags, MeterFilter.deny());
+    }
+}
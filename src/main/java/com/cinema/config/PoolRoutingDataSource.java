@@ -0,0 +1,77 @@
+package com.cinema.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * PoolRoutingDataSource - chia connection của primary thành nhiều pool riêng theo loại công việc.
+ *
+ * Pool được chọn theo @DataSourcePool của service đang chạy (DataSourcePoolAspect đặt vào ThreadLocal),
+ * mặc định WRITE. Nhờ vậy 1 đợt tìm kiếm phim ẩn danh chỉ làm cạn pool CATALOG,
+ * createBooking vẫn lấy được connection từ pool WRITE.
+ */
+@Slf4j
+public class PoolRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<DataSourcePool.Pool> CURRENT = new ThreadLocal<>();
+
+    private final Map<DataSourcePool.Pool, DataSource> pools;
+
+    public PoolRoutingDataSource(Map<DataSourcePool.Pool, DataSource> pools) {
+        this.pools = new EnumMap<>(pools);
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(DataSourcePool.Pool.WRITE));
+    }
+
+    /**
+     * Đặt pool cho thread hiện tại, trả về pool trước đó để khôi phục (restore) sau khi xong
+     */
+    public static DataSourcePool.Pool use(DataSourcePool.Pool pool) {
+        DataSourcePool.Pool previous = CURRENT.get();
+        CURRENT.set(pool);
+        return previous;
+    }
+
+    public static void restore(DataSourcePool.Pool previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static DataSourcePool.Pool current() {
+        DataSourcePool.Pool pool = CURRENT.get();
+        return pool != null ? pool : DataSourcePool.Pool.WRITE;
+    }
+
+    public Map<DataSourcePool.Pool, DataSource> getPools() {
+        return pools;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return current();
+    }
+
+    /**
+     * Đóng tất cả pool (DatabaseConfig gọi khi tắt app, hoặc ReplicaRoutingDataSource gọi khi đóng)
+     */
+    @Override
+    public void close() {
+        pools.forEach((name, pool) -> {
+            if (pool instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Cannot close {} pool: {}", name, ex.getMessage());
+                }
+            }
+        });
+    }
+}
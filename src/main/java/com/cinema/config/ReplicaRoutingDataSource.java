@@ -0,0 +1,214 @@
+package com.cinema.config;
+
+import com.cinema.security.CustomUserDetails;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ReplicaRoutingDataSource - chia connection giữa primary và các replica chỉ đọc.
+ *
+ * - Transaction readOnly (@Transactional(readOnly = true)) → 1 replica khỏe (xoay vòng)
+ * - Còn lại (transaction ghi, không có transaction) → primary
+ * - Read-your-writes: user vừa mở transaction ghi được "ghim" vào primary trong pin-window,
+ *   các lần đọc ngay sau đó (thấy ngay booking vừa tạo...) không bị trễ replication
+ * - Health check định kỳ (Connection.isValid) + lỗi lấy connection → replica bị loại tạm thời,
+ *   không còn replica khỏe thì mọi thứ đi primary
+ *
+ * Phải bọc bởi LazyConnectionDataSourceProxy (xem DatabaseConfig): JpaTransactionManager lấy connection
+ * trước khi đánh dấu transaction readOnly, proxy hoãn việc chọn DataSource tới câu SQL đầu tiên.
+ * Hibernate phải trả connection sau mỗi transaction (DatabaseConfig.connectionHandling), nếu không
+ * open-in-view giữ connection replica cho cả các transaction ghi sau đó trong cùng request.
+ *
+ * Metrics: datasource.routing{target=primary|replica}, datasource.replicas.healthy
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Cache<Long, Boolean> pinnedUsers;
+    private final ScheduledExecutorService healthChecker;
+
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration pinWindow, Duration healthCheckInterval, MeterRegistry registry) {
+        this.primary = primary;
+        List<Replica> replicaList = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            replicaList.add(new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        this.replicas = List.copyOf(replicaList);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.pinnedUsers = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(pinWindow)
+                .build();
+
+        this.primaryRoutes = Counter.builder("datasource.routing").tag("target", "primary").register(registry);
+        this.replicaRoutes = Counter.builder("datasource.routing").tag("target", "replica").register(registry);
+        Gauge.builder("datasource.replicas.healthy", this.replicas,
+                list -> list.stream().filter(r -> r.healthy).count()).register(registry);
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                pinCurrentUser();
+            }
+            return PRIMARY;
+        }
+        Long userId = currentUserId();
+        if (userId != null && pinnedUsers.getIfPresent(userId) != null) {
+            return PRIMARY;
+        }
+        Replica replica = nextHealthyReplica();
+        return replica != null ? replica.name : PRIMARY;
+    }
+
+    /**
+     * Lấy connection theo key đã chọn; replica lỗi → đánh dấu không khỏe và dùng primary
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            primaryRoutes.increment();
+            return primary.getConnection();
+        }
+        Replica replica = replicas.stream().filter(r -> r.name.equals(key)).findFirst().orElse(null);
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            replicaRoutes.increment();
+            return connection;
+        } catch (SQLException ex) {
+            markUnhealthy(replica, ex);
+            primaryRoutes.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Dừng health check và đóng các pool (primary + replica)
+     */
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        closeQuietly(primary);
+        replicas.forEach(replica -> closeQuietly(replica.dataSource));
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                log.warn("Cannot close datasource: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(2);
+            } catch (SQLException ex) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.warn("Replica {} is now {}", replica.name, healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private void markUnhealthy(Replica replica, SQLException ex) {
+        if (replica.healthy) {
+            log.warn("Replica {} failed ({}), falling back to primary until next health check", replica.name, ex.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    private void pinCurrentUser() {
+        Long userId = currentUserId();
+        if (userId != null) {
+            pinnedUsers.put(userId, Boolean.TRUE);
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getId();
+        }
+        return null;
+    }
+}
@@ -1,7 +1,11 @@
 package com.cinema.config;
 
+import com.cinema.security.BoundedPasswordEncoder;
 import com.cinema.security.JwtAuthenticationFilter;
+import com.cinema.security.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -14,11 +18,11 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -37,6 +41,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     /**
      * SecurityFilterChain: định nghĩa toàn bộ luật bảo mật cho HTTP request.
@@ -59,7 +64,12 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Cho phép public endpoints không cần authentication
                         .requestMatchers("/api").permitAll() // API info endpoint
-                        .requestMatchers("/api/auth/register", "/api/auth/login").permitAll()
+                        // Health (probe của load balancer) + Prometheus scrape không cần token;
+                        // production nên chặn /actuator/prometheus ở ingress, chỉ mở cho mạng nội bộ
+                        .requestMatchers("/api/health", "/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
+                        // Actuator còn lại (metrics, chi tiết health...) chỉ cho Admin
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refresh", "/api/auth/availability").permitAll()
                         // Cho phép public access đến images (actor photos, posters, etc.)
                         .requestMatchers(HttpMethod.GET, "/api/images/**").permitAll()
                         // GET movies public (chỉ GET method)
@@ -84,7 +94,9 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 // Thêm JWT filter trước UsernamePasswordAuthenticationFilter
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Rate limit ngay sau JWT filter (đã biết user) → chặn spam trước khi vào Controller / DB
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -138,10 +150,15 @@ public class SecurityConfig {
     /**
      * PasswordEncoder dùng BCrypt để hash mật khẩu.
      * Sẽ được dùng ở bước Auth (register/login) sau này.
+     * BCrypt chạy trên pool riêng có giới hạn (BoundedPasswordEncoder), không chạy trên thread Tomcat.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${security.password-hashing.timeout:5s}") Duration timeout,
+            MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, timeout, meterRegistry);
     }
 
     /**
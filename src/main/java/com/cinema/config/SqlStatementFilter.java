@@ -0,0 +1,113 @@
+package com.cinema.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SqlStatementFilter - đếm SQL statement / row / thời gian DB của mỗi HTTP request (SqlStatementStats).
+ *
+ * Chạy ngoài cùng (trước Spring Security) → tính cả query của filter xác thực và của lúc serialize response
+ * (lazy load trong open-in-view).
+ * - Vượt sql-stats.statement-threshold statement, hoặc 1 dạng SQL lặp từ sql-stats.repeat-threshold lần
+ *   (dấu hiệu N+1) → log WARN kèm các câu lặp
+ * - Metrics theo route (uri là pattern của controller, không phải path thật):
+ *   sql.request.statements / sql.request.rows (summary), sql.request.time (timer)
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LOGGED_SHAPE_LENGTH = 300;
+
+    private record Route(String method, String uri) {
+    }
+
+    private record RouteMeters(DistributionSummary statements, DistributionSummary rows, Timer time) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    // Meter dựng 1 lần cho mỗi (method, uri), không register lại trên mỗi request
+    private final Map<Route, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int statementThreshold;
+    private final int repeatThreshold;
+
+    public SqlStatementFilter(MeterRegistry meterRegistry,
+                              @Value("${sql-stats.enabled:true}") boolean enabled,
+                              @Value("${sql-stats.statement-threshold:20}") int statementThreshold,
+                              @Value("${sql-stats.repeat-threshold:5}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.statementThreshold = statementThreshold;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.end(stats);
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        if (stats.getStatements() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNMATCHED";
+        String method = request.getMethod();
+
+        RouteMeters meters = routeMeters.computeIfAbsent(new Route(method, uri), this::register);
+        meters.statements().record(stats.getStatements());
+        meters.rows().record(stats.getRows());
+        meters.time().record(stats.getDbTimeMillis(), TimeUnit.MILLISECONDS);
+
+        Map<String, Integer> repeated = stats.repeatedShapes(repeatThreshold);
+        if (stats.getStatements() <= statementThreshold && repeated.isEmpty()) {
+            return;
+        }
+        log.warn("{} {} ran {} SQL statements ({} rows, {} ms DB)", method, request.getRequestURI(),
+                stats.getStatements(), stats.getRows(), stats.getDbTimeMillis());
+        repeated.forEach((shape, count) -> log.warn("  possible N+1: {}x {}", count,
+                shape.length() > MAX_LOGGED_SHAPE_LENGTH ? shape.substring(0, MAX_LOGGED_SHAPE_LENGTH) + "..." : shape));
+    }
+
+    private RouteMeters register(Route route) {
+        return new RouteMeters(
+                DistributionSummary.builder("sql.request.statements")
+                        .tag("method", route.method()).tag("uri", route.uri()).register(meterRegistry),
+                DistributionSummary.builder("sql.request.rows")
+                        .tag("method", route.method()).tag("uri", route.uri()).register(meterRegistry),
+                Timer.builder("sql.request.time")
+                        .tag("method", route.method()).tag("uri", route.uri()).register(meterRegistry));
+    }
+}
@@ -0,0 +1,67 @@
+package com.cinema.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * SqlStatementListener - listener của datasource-proxy, ghi từng statement vào SqlStatementStats.
+ *
+ * Không có phạm vi đang mở (Flyway, job nền...) → bỏ qua ngay, không tính toán gì thêm.
+ */
+class SqlStatementListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!SqlStatementStats.isActive()) {
+            return;
+        }
+        long affectedRows = affectedRows(execInfo.getResult());
+        for (int i = 0; i < queryInfoList.size(); i++) {
+            // Batch: mỗi câu trong batch tính 1 statement, thời gian + row tính 1 lần
+            SqlStatementStats.recordStatement(queryInfoList.get(i).getQuery(),
+                    i == 0 ? execInfo.getElapsedTime() : 0,
+                    i == 0 ? affectedRows : 0);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && SqlStatementStats.isActive()) {
+            SqlStatementStats.recordRow();
+        }
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,114 @@
+package com.cinema.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SqlStatementStats - số SQL statement / row / thời gian DB của 1 phạm vi (1 HTTP request, 1 lần gọi trong test).
+ *
+ * SqlStatementListener (datasource-proxy, xem DatabaseConfig) ghi vào mọi phạm vi đang mở của thread hiện tại,
+ * phạm vi lồng nhau (filter + SqlStatementAssertions trong test MockMvc) đều thấy đủ statement.
+ */
+public final class SqlStatementStats {
+
+    // Giới hạn số "dạng" SQL khác nhau lưu lại cho 1 phạm vi (request bất thường không làm phình bộ nhớ)
+    private static final int MAX_SHAPES = 200;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementStats parent;
+    private int statements;
+    private long rows;
+    private long dbTimeMillis;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    private SqlStatementStats(SqlStatementStats parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Mở 1 phạm vi đếm mới cho thread hiện tại (phải đóng bằng end trong finally)
+     */
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Đóng phạm vi, trả lại phạm vi cha (nếu có)
+     */
+    public static void end(SqlStatementStats stats) {
+        if (stats.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats.parent);
+        }
+    }
+
+    static void recordStatement(String sql, long elapsedMillis, long affectedRows) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        String shape = shapeOf(sql);
+        for (SqlStatementStats scope = stats; scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.rows += affectedRows;
+            scope.dbTimeMillis += elapsedMillis;
+            if (scope.shapes.size() < MAX_SHAPES || scope.shapes.containsKey(shape)) {
+                scope.shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+    }
+
+    static void recordRow() {
+        for (SqlStatementStats scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.rows++;
+        }
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Số row đọc (ResultSet.next, chỉ khi sql-stats.count-rows) + số row bị INSERT / UPDATE / DELETE
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbTimeMillis() {
+        return dbTimeMillis;
+    }
+
+    /**
+     * Các dạng SQL chạy từ minCount lần trở lên, nhiều nhất trước
+     */
+    public Map<String, Integer> repeatedShapes(int minCount) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(entry -> entry.getValue() >= minCount)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(repeated);
+    }
+
+    /**
+     * "Dạng" của câu SQL: gom khoảng trắng, thay số literal bằng ? (Hibernate đã dùng ? cho tham số)
+     */
+    private static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return NUMBER_LITERAL.matcher(shape).replaceAll("?");
+    }
+}
@@ -0,0 +1,49 @@
+package com.cinema.controller;
+
+import com.cinema.model.dto.request.BulkRefreshmentStatusRequest;
+import com.cinema.model.dto.request.BulkSeatTypeRequest;
+import com.cinema.model.dto.request.BulkShowtimePriceRequest;
+import com.cinema.model.dto.response.BulkUpdateResponse;
+import com.cinema.service.BulkAdminService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller xử lý các API cập nhật hàng loạt (Admin only)
+ */
+@RestController
+@RequestMapping("/api/admin/bulk")
+@RequiredArgsConstructor
+public class AdminBulkController {
+
+    private final BulkAdminService bulkAdminService;
+
+    /**
+     * PUT /api/admin/bulk/showtimes/price
+     * Đổi giá các suất chiếu trong khoảng ngày (lọc theo cinema/room/movie)
+     */
+    @PutMapping("/showtimes/price")
+    public ResponseEntity<BulkUpdateResponse> updateShowtimePrices(@Valid @RequestBody BulkShowtimePriceRequest request) {
+        return ResponseEntity.ok(bulkAdminService.updateShowtimePrices(request));
+    }
+
+    /**
+     * PUT /api/admin/bulk/seats/type
+     * Đổi loại ghế theo khoảng hàng (ví dụ hàng H-J thành VIP) cho 1 phòng hoặc cả rạp
+     */
+    @PutMapping("/seats/type")
+    public ResponseEntity<BulkUpdateResponse> updateSeatTypes(@Valid @RequestBody BulkSeatTypeRequest request) {
+        return ResponseEntity.ok(bulkAdminService.updateSeatTypes(request));
+    }
+
+    /**
+     * PUT /api/admin/bulk/refreshments/status
+     * Bật/tắt bán hàng loạt đồ ăn/đồ uống
+     */
+    @PutMapping("/refreshments/status")
+    public ResponseEntity<BulkUpdateResponse> updateRefreshmentStatus(@Valid @RequestBody BulkRefreshmentStatusRequest request) {
+        return ResponseEntity.ok(bulkAdminService.updateRefreshmentStatus(request));
+    }
+}
@@ -1,5 +1,10 @@
 package com.cinema.controller;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,14 +18,22 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 public class ApiInfoController {
 
+    private final HealthEndpoint healthEndpoint;
+
+    /**
+     * Trạng thái thật của ứng dụng (DB, ổ đĩa... theo Actuator), không UP → 503 để load balancer bỏ instance
+     */
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
+        HealthComponent component = healthEndpoint.health();
         Map<String, String> health = new LinkedHashMap<>();
-        health.put("status", "UP");
+        health.put("status", component.getStatus().getCode());
         health.put("service", "Cinema Booking System API");
-        return ResponseEntity.ok(health);
+        HttpStatus httpStatus = Status.UP.equals(component.getStatus()) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(httpStatus).body(health);
     }
 
     @GetMapping
@@ -35,7 +48,9 @@ public class ApiInfoController {
         // Auth APIs
         Map<String, Object> auth = new LinkedHashMap<>();
         auth.put("POST /api/auth/register", "Đăng ký tài khoản Customer");
+        auth.put("GET /api/auth/availability", "Kiểm tra username / email còn dùng được không (?username=&email=)");
         auth.put("POST /api/auth/login", "Đăng nhập và nhận JWT token");
+        auth.put("POST /api/auth/refresh", "Đổi refresh token lấy access token mới (refresh token dùng 1 lần)");
         auth.put("GET /api/auth/me", "Lấy thông tin user hiện tại (JWT required)");
         auth.put("PUT /api/auth/change-password", "Đổi mật khẩu (JWT required)");
         endpoints.put("Auth APIs", auth);
@@ -54,6 +69,7 @@ public class ApiInfoController {
         Map<String, Object> cinemas = new LinkedHashMap<>();
         cinemas.put("GET /api/cinemas", "Lấy danh sách rạp (phân trang, public)");
         cinemas.put("GET /api/cinemas/{id}", "Lấy chi tiết rạp (public)");
+        cinemas.put("GET /api/cinemas/{id}/showtimes?date=", "Lịch chiếu của rạp theo ngày kèm số ghế còn trống (public)");
         cinemas.put("POST /api/cinemas", "Tạo rạp mới (Admin only)");
         cinemas.put("PUT /api/cinemas/{id}", "Cập nhật rạp (Admin only)");
         cinemas.put("DELETE /api/cinemas/{id}", "Xóa rạp (Admin only)");
@@ -64,6 +80,8 @@ public class ApiInfoController {
         rooms.put("GET /api/rooms", "Lấy danh sách phòng (phân trang, public)");
         rooms.put("GET /api/rooms/cinema/{cinemaId}", "Lấy danh sách phòng theo rạp (public)");
         rooms.put("GET /api/rooms/{id}", "Lấy chi tiết phòng (public)");
+        rooms.put("GET /api/rooms/{id}/seats", "Lấy danh sách ghế của phòng (public)");
+        rooms.put("GET /api/rooms/{id}/layout", "Lấy sơ đồ ghế dạng nén + version (public)");
         rooms.put("POST /api/rooms", "Tạo phòng chiếu mới (Admin only)");
         rooms.put("PUT /api/rooms/{id}", "Cập nhật phòng (Admin only)");
         rooms.put("DELETE /api/rooms/{id}", "Xóa phòng (Admin only)");
@@ -72,7 +90,9 @@ public class ApiInfoController {
         // Showtime APIs
         Map<String, Object> showtimes = new LinkedHashMap<>();
         showtimes.put("GET /api/showtimes", "Lấy danh sách suất chiếu (phân trang, public)");
+        showtimes.put("GET /api/showtimes/schedule?date=", "Lịch chiếu trong ngày nhóm theo rạp/phim, có ETag (public)");
         showtimes.put("GET /api/showtimes/{id}", "Lấy chi tiết suất chiếu (public)");
+        showtimes.put("GET /api/showtimes/{id}/best-seats?count=&type=", "Gợi ý dãy ghế liền nhau tốt nhất còn trống (public)");
         showtimes.put("GET /api/showtimes/movie/{movieId}", "Lấy suất chiếu theo phim (public)");
         showtimes.put("GET /api/showtimes/date/{date}", "Lấy suất chiếu theo ngày yyyy-MM-dd (public)");
         showtimes.put("POST /api/showtimes", "Tạo suất chiếu mới (Admin only)");
@@ -110,6 +130,13 @@ public class ApiInfoController {
         users.put("DELETE /api/users/{id}", "Xóa user (Admin only)");
         endpoints.put("User APIs", users);
         
+        // Bulk APIs (Admin)
+        Map<String, Object> bulk = new LinkedHashMap<>();
+        bulk.put("PUT /api/admin/bulk/showtimes/price", "Đổi giá suất chiếu hàng loạt theo khoảng ngày + cinema/room/movie (Admin only)");
+        bulk.put("PUT /api/admin/bulk/seats/type", "Đổi loại ghế theo khoảng hàng cho phòng/rạp (Admin only)");
+        bulk.put("PUT /api/admin/bulk/refreshments/status", "Bật/tắt bán đồ ăn/đồ uống hàng loạt (Admin only)");
+        endpoints.put("Bulk APIs", bulk);
+        
         apiInfo.put("endpoints", endpoints);
         
         Map<String, String> notes = new LinkedHashMap<>();
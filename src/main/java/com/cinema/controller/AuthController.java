@@ -2,9 +2,11 @@ package com.cinema.controller;
 
 import com.cinema.model.dto.request.ChangePasswordRequest;
 import com.cinema.model.dto.request.LoginRequest;
+import com.cinema.model.dto.request.RefreshTokenRequest;
 import com.cinema.model.dto.request.RegisterRequest;
 import com.cinema.model.dto.request.UpdateProfileRequest;
 import com.cinema.model.dto.response.AuthResponse;
+import com.cinema.model.dto.response.AvailabilityResponse;
 import com.cinema.model.dto.response.UserResponse;
 import com.cinema.service.AuthService;
 import jakarta.validation.Valid;
@@ -33,6 +35,17 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    /**
+     * GET /api/auth/availability?username=...&email=...
+     * Kiểm tra username / email còn dùng được không (phần lớn trả lời từ bộ nhớ, không query DB)
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        return ResponseEntity.ok(authService.checkAvailability(username, email));
+    }
+    
     /**
      * POST /api/auth/login
      * Đăng nhập và nhận JWT token
@@ -43,6 +56,16 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * POST /api/auth/refresh
+     * Đổi refresh token (dùng 1 lần) lấy access token + refresh token mới
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * GET /api/auth/me
      * Lấy thông tin user hiện tại (từ JWT token)
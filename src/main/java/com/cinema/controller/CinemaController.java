@@ -2,7 +2,9 @@ package com.cinema.controller;
 
 import com.cinema.model.dto.request.CinemaRequest;
 import com.cinema.model.dto.response.CinemaResponse;
+import com.cinema.model.dto.response.ShowtimeAvailabilityResponse;
 import com.cinema.service.CinemaService;
+import com.cinema.service.ShowtimeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -12,6 +14,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * Controller xử lý các API CRUD Cinema
  */
@@ -21,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 public class CinemaController {
     
     private final CinemaService cinemaService;
+    private final ShowtimeService showtimeService;
     
     /**
      * GET /api/cinemas
@@ -46,6 +52,18 @@ public class CinemaController {
         return ResponseEntity.ok(cinema);
     }
     
+    /**
+     * GET /api/cinemas/{id}/showtimes?date=yyyy-MM-dd
+     * Lịch chiếu của rạp trong ngày, kèm số ghế đã bán / còn trống (public)
+     */
+    @GetMapping("/{id}/showtimes")
+    public ResponseEntity<List<ShowtimeAvailabilityResponse>> getShowtimesByDate(
+            @PathVariable Long id,
+            @RequestParam String date) {
+        LocalDate parsed = LocalDate.parse(date);
+        return ResponseEntity.ok(showtimeService.getShowtimesByCinemaAndDate(id, parsed));
+    }
+    
     /**
      * POST /api/cinemas
      * Tạo cinema mới (chỉ Admin)
@@ -1,6 +1,7 @@
 package com.cinema.controller;
 
 import com.cinema.model.dto.request.RoomRequest;
+import com.cinema.model.dto.response.RoomLayoutResponse;
 import com.cinema.model.dto.response.RoomResponse;
 import com.cinema.model.dto.response.SeatResponse;
 import com.cinema.service.RoomService;
@@ -69,6 +70,15 @@ public class RoomController {
         return ResponseEntity.ok(seats);
     }
     
+    /**
+     * GET /api/rooms/{id}/layout
+     * Lấy sơ đồ ghế dạng nén + version (public, payload nhỏ hơn nhiều so với danh sách ghế)
+     */
+    @GetMapping("/{id}/layout")
+    public ResponseEntity<RoomLayoutResponse> getRoomLayout(@PathVariable Long id) {
+        return ResponseEntity.ok(roomService.getRoomLayout(id));
+    }
+    
     /**
      * POST /api/rooms
      * Tạo room mới và tự động tạo ghế (chỉ Admin)
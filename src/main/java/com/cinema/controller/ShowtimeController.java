@@ -1,7 +1,12 @@
 package com.cinema.controller;
 
 import com.cinema.model.dto.request.ShowtimeRequest;
+import com.cinema.model.dto.response.BestSeatsResponse;
+import com.cinema.model.dto.response.DailyScheduleResponse;
 import com.cinema.model.dto.response.ShowtimeResponse;
+import com.cinema.model.enums.SeatType;
+import com.cinema.service.ScheduleSnapshotService;
+import com.cinema.service.SeatSuggestionService;
 import com.cinema.service.ShowtimeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,6 +30,8 @@ import java.util.List;
 public class ShowtimeController {
 
     private final ShowtimeService showtimeService;
+    private final ScheduleSnapshotService scheduleSnapshotService;
+    private final SeatSuggestionService seatSuggestionService;
 
     /**
      * GET /api/showtimes
@@ -39,6 +47,23 @@ public class ShowtimeController {
         return ResponseEntity.ok(showtimes);
     }
 
+    /**
+     * GET /api/showtimes/schedule?date=yyyy-MM-dd (mặc định hôm nay)
+     * Lịch chiếu trong ngày nhóm theo rạp → phim → giờ chiếu, đọc từ snapshot trong bộ nhớ.
+     * Hỗ trợ If-None-Match → 304 nếu lịch chưa thay đổi.
+     */
+    @GetMapping("/schedule")
+    public ResponseEntity<DailyScheduleResponse> getDailySchedule(
+            @RequestParam(required = false) String date,
+            WebRequest webRequest) {
+        LocalDate parsed = date != null ? LocalDate.parse(date) : LocalDate.now();
+        ScheduleSnapshotService.Snapshot snapshot = scheduleSnapshotService.getSchedule(parsed);
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return null; // 304 Not Modified, header ETag đã được set
+        }
+        return ResponseEntity.ok().eTag(snapshot.etag()).body(snapshot.schedule());
+    }
+
     /**
      * GET /api/showtimes/{id}
      */
@@ -47,6 +72,18 @@ public class ShowtimeController {
         return ResponseEntity.ok(showtimeService.getShowtimeById(id));
     }
 
+    /**
+     * GET /api/showtimes/{id}/best-seats?count=N&type=NORMAL|VIP
+     * Gợi ý các dãy count ghế liền nhau tốt nhất còn trống (public)
+     */
+    @GetMapping("/{id}/best-seats")
+    public ResponseEntity<BestSeatsResponse> getBestSeats(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "2") int count,
+            @RequestParam(required = false) SeatType type) {
+        return ResponseEntity.ok(seatSuggestionService.getBestSeats(id, count, type));
+    }
+
     /**
      * GET /api/showtimes/movie/{movieId}
      */
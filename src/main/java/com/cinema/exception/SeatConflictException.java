@@ -0,0 +1,20 @@
+package com.cinema.exception;
+
+import com.cinema.model.dto.response.BestSeatsResponse;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Ghế chọn đã có người đặt - kèm các dãy ghế gợi ý thay thế (có thể rỗng)
+ */
+@Getter
+public class SeatConflictException extends RuntimeException {
+
+    private final List<BestSeatsResponse.SeatBlock> suggestions;
+
+    public SeatConflictException(String message, List<BestSeatsResponse.SeatBlock> suggestions) {
+        super(message);
+        this.suggestions = suggestions;
+    }
+}
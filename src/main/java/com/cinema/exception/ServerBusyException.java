@@ -0,0 +1,17 @@
+package com.cinema.exception;
+
+import lombok.Getter;
+
+/**
+ * Hệ thống đang quá tải (hàng đợi đầy / chờ quá lâu) - trả 503 kèm Retry-After để client thử lại sau
+ */
+@Getter
+public class ServerBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
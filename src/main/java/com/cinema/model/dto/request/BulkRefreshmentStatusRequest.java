@@ -0,0 +1,25 @@
+package com.cinema.model.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO cho request bật/tắt bán hàng loạt đồ ăn/đồ uống (Admin)
+ * Lọc theo danh sách ids hoặc theo tên chứa nameContains (chọn 1 trong 2)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRefreshmentStatusRequest {
+
+    private List<Long> ids;
+
+    private String nameContains; // Ví dụ: "Combo"
+
+    @NotNull(message = "Trạng thái không được để trống")
+    private Boolean isCurrent;
+}
@@ -0,0 +1,31 @@
+package com.cinema.model.dto.request;
+
+import com.cinema.model.enums.SeatType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO cho request đổi loại ghế hàng loạt theo khoảng hàng (Admin)
+ * Ví dụ: cinemaId=1, fromRow="H", toRow="J", type=VIP → hàng H..J của mọi phòng trong rạp thành VIP
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSeatTypeRequest {
+
+    private Long cinemaId; // Cần cinemaId hoặc roomId
+
+    private Long roomId;
+
+    @NotBlank(message = "Hàng bắt đầu không được để trống")
+    private String fromRow; // A, B, ...
+
+    @NotBlank(message = "Hàng kết thúc không được để trống")
+    private String toRow;
+
+    @NotNull(message = "Loại ghế không được để trống")
+    private SeatType type;
+}
@@ -0,0 +1,36 @@
+package com.cinema.model.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO cho request đổi giá hàng loạt suất chiếu trong khoảng ngày (Admin)
+ * Bộ lọc cinemaId / roomId / movieId là optional, có thể kết hợp
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkShowtimePriceRequest {
+
+    private Long cinemaId;
+
+    private Long roomId;
+
+    private Long movieId;
+
+    @NotNull(message = "Ngày bắt đầu không được để trống")
+    private LocalDate fromDate;
+
+    @NotNull(message = "Ngày kết thúc không được để trống")
+    private LocalDate toDate; // Tính cả ngày này
+
+    @NotNull(message = "Giá vé không được để trống")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Giá vé phải lớn hơn 0")
+    private BigDecimal price;
+}
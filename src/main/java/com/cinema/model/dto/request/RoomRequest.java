@@ -34,6 +34,11 @@ public class RoomRequest {
     
     // Optional: Loại ghế mặc định (NORMAL hoặc VIP)
     private SeatType defaultSeatType = SeatType.NORMAL;
+    
+    // Optional: Sơ đồ ghế dạng nén, ví dụ "4N1_6V1_4N/4N1_6V1_4N" (N=thường, V=VIP, _=lối đi).
+    // Nếu có thì totalRows/totalCols được tính lại theo sơ đồ.
+    @Size(max = 20000, message = "Sơ đồ ghế quá dài")
+    private String seatLayout;
 }
 
 
@@ -5,13 +5,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
- * DTO cho response đăng nhập (trả về token + user info)
+ * DTO cho response đăng nhập / refresh (trả về access token ngắn hạn + refresh token + user info)
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    private String refreshToken;
+    private Long expiresIn; // Thời gian sống của access token (giây)
     private UserResponse user;
 }
 
@@ -0,0 +1,31 @@
+package com.cinema.model.dto.response;
+
+import com.cinema.model.enums.SeatType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO gợi ý ghế tốt nhất cho một nhóm:
+ * - Mỗi gợi ý là 1 dãy ghế liền nhau trong cùng hàng
+ * - Sắp xếp từ tốt nhất (score nhỏ nhất) trở đi
+ */
+@Data
+public class BestSeatsResponse {
+
+    private Long showtimeId;
+    private Integer count;
+    private SeatType type;
+    private Integer remainingSeats;
+    private List<SeatBlock> suggestions;
+
+    @Data
+    public static class SeatBlock {
+        private String row;
+        private List<Long> seatIds;
+        private List<String> seatNumbers;
+        private BigDecimal totalPrice;
+        private Double score;
+    }
+}
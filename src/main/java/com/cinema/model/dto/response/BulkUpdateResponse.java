@@ -0,0 +1,17 @@
+package com.cinema.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO trả về cho thao tác cập nhật hàng loạt (Admin)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResponse {
+    private String operation;
+    private Integer affected; // Số dòng thực sự thay đổi (dòng đã đúng giá trị mới không tính)
+    private Integer chunks;   // Số lần chạy UPDATE (mỗi chunk 1 transaction)
+}
@@ -0,0 +1,42 @@
+package com.cinema.model.dto.response;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO (immutable) cho lịch chiếu trong ngày, nhóm theo rạp → phim → suất chiếu.
+ * Được build sẵn trong bộ nhớ bởi ScheduleSnapshotService và dùng chung cho mọi request.
+ */
+@Value
+public class DailyScheduleResponse {
+    LocalDate date;
+    List<CinemaSchedule> cinemas;
+
+    @Value
+    public static class CinemaSchedule {
+        Long cinemaId;
+        String cinemaName;
+        List<MovieSchedule> movies;
+    }
+
+    @Value
+    public static class MovieSchedule {
+        Long movieId;
+        String movieTitle;
+        List<ShowtimeSlot> showtimes;
+    }
+
+    @Value
+    public static class ShowtimeSlot {
+        Long showtimeId;
+        Long roomId;
+        String roomNumber;
+        LocalDateTime startTime;
+        LocalDateTime endTime;
+        BigDecimal price;
+    }
+}
@@ -0,0 +1,20 @@
+package com.cinema.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO cho sơ đồ ghế dạng nén của phòng (xem SeatLayout để biết cách mã hoá)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomLayoutResponse {
+    private Long roomId;
+    private Integer version;
+    private Integer totalRows;
+    private Integer totalCols;
+    private Integer totalSeats;
+    private String layout; // Ví dụ: "4N1_6V1_4N/4N1_6V1_4N"
+}
@@ -0,0 +1,33 @@
+package com.cinema.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO cho lịch chiếu của một rạp theo ngày, kèm số ghế đã bán / còn trống
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowtimeAvailabilityResponse {
+    private Long id;
+
+    private Long movieId;
+    private String movieTitle;
+
+    private Long roomId;
+    private String roomNumber;
+
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    private BigDecimal price;
+
+    private Integer totalSeats;
+    private Integer soldSeats;
+    private Integer remainingSeats;
+}
@@ -13,7 +13,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings",
+       indexes = {
+           @Index(name = "idx_bookings_showtime_status", columnList = "showtime_id, status"),
+           @Index(name = "idx_bookings_user_created", columnList = "user_id, created_at")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
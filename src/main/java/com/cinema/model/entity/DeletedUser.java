@@ -0,0 +1,29 @@
+package com.cinema.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dấu vết user đã bị xóa (tombstone) cho danh sách thu hồi JWT.
+ *
+ * - Ghi cùng transaction xóa user → mọi instance thấy được khi nạp lại danh sách thu hồi
+ * - Chỉ cần giữ tới khi access token cuối cùng cấp trước lúc xóa hết hạn, sau đó được dọn định kỳ
+ */
+@Entity
+@Table(name = "deleted_users",
+       indexes = @Index(name = "idx_deleted_users_deleted_at", columnList = "deleted_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletedUser {
+    @Id
+    @Column(name = "user_id")
+    private Long userId; // id của user đã xóa (không FK, dòng users không còn)
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,7 +15,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "movies")
+@Table(name = "movies",
+       indexes = @Index(name = "idx_movies_status_release", columnList = "status, release_date"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -75,6 +78,7 @@ public class Movie {
      * Danh sách diễn viên của phim (MovieActor)
      * Thiết kế hiện tại: mỗi MovieActor lưu trực tiếp name + avatarUrl.
      */
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "movie-actor-lists")
     @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<MovieActor> movieActors;
 
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -20,10 +22,14 @@ import java.time.LocalDateTime;
  *   + Đổi MovieActor thành bảng trung gian many-to-many.
  */
 @Entity
-@Table(name = "movie_actors")
+@Table(name = "movie_actors",
+       indexes = @Index(name = "idx_movie_actors_movie", columnList = "movie_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// Second-level cache: chỉ để hiển thị, cho phép cũ trong thời gian ngắn
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "movie-actors")
 public class MovieActor {
 
     @Id
@@ -0,0 +1,55 @@
+package com.cinema.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token (chỉ lưu hash SHA-256 của token, không lưu token gốc).
+ *
+ * - Dùng 1 lần: mỗi lần refresh đánh dấu usedAt và cấp token mới cùng familyId (xoay vòng)
+ * - Token đã dùng / đã thu hồi bị đem dùng lại → thu hồi cả family (phát hiện token bị lộ)
+ */
+@Entity
+@Table(name = "refresh_tokens",
+       uniqueConstraints = @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "token_hash"),
+       indexes = {
+           @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+           @Index(name = "idx_refresh_token_expires", columnList = "expires_at"),
+           @Index(name = "idx_refresh_tokens_user", columnList = "user_id")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash; // base64url(SHA-256(token))
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId; // Chuỗi token sinh ra từ cùng 1 lần đăng nhập
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt; // null = chưa dùng
+
+    @Column(nullable = false)
+    private Boolean revoked = false;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,6 +18,9 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// Second-level cache: READ_WRITE vì giá dùng để tính tiền booking
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "refreshments")
 public class Refreshment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
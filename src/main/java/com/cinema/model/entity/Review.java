@@ -10,7 +10,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews",
+       indexes = @Index(name = "idx_reviews_movie", columnList = "movie_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
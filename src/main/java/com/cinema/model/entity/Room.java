@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -19,6 +21,9 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// Second-level cache: READ_WRITE vì sơ đồ ghế / layout_version dùng khi đặt vé
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rooms")
 public class Room {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,7 +44,16 @@ public class Room {
     private Integer totalCols; // Số ghế mỗi hàng
 
     @Column(name = "total_seats", nullable = false)
-    private Integer totalSeats; // rows × cols
+    private Integer totalSeats; // Tổng số ghế thực tế (không tính lối đi)
+
+    // Sơ đồ ghế dạng nén (xem SeatLayout), là nguồn chính để đọc sơ đồ ghế.
+    // Bảng seats chỉ còn vai trò làm khóa ngoại cho tickets.
+    @Column(name = "seat_layout", columnDefinition = "TEXT")
+    private String seatLayout;
+
+    // Tăng mỗi lần sơ đồ ghế thay đổi
+    @Column(name = "layout_version")
+    private Integer layoutVersion;
 
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
@@ -50,6 +64,7 @@ public class Room {
     private LocalDateTime updatedAt;
 
     // Relationships
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room-seats")
     @OneToMany(mappedBy = "room", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Seat> seats;
     
@@ -12,7 +12,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "showtimes")
+@Table(name = "showtimes",
+       indexes = {
+           @Index(name = "idx_showtimes_room_start", columnList = "room_id, start_time"),
+           @Index(name = "idx_showtimes_movie_start", columnList = "movie_id, start_time"),
+           @Index(name = "idx_showtimes_start", columnList = "start_time")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
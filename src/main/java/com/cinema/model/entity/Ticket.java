@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
        uniqueConstraints = @UniqueConstraint(
            name = "uk_booking_seat",
            columnNames = {"booking_id", "seat_id"}
-       ))
+       ),
+       indexes = @Index(name = "idx_tickets_seat", columnList = "seat_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,7 +13,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_users_username", columnNames = "username"),
+           @UniqueConstraint(name = "uk_users_email", columnNames = "email")
+       },
+       indexes = @Index(name = "idx_users_token_version_changed_at", columnList = "token_version_changed_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,10 +27,10 @@ public class User {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false, length = 50)
+    @Column(nullable = false, length = 50)
     private String username;
 
-    @Column(unique = true, nullable = false, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
 
     @Column(nullable = false)
@@ -51,6 +56,15 @@ public class User {
     @Column(nullable = false)
     private UserStatus status = UserStatus.ACTIVE;
 
+    // Phiên bản token: tăng khi đổi mật khẩu / role / trạng thái / thông tin đăng nhập → JWT cũ (claim "ver" nhỏ hơn) bị thu hồi
+    // null = 0 (user cũ chưa có cột này)
+    @Column(name = "token_version")
+    private Integer tokenVersion;
+
+    // Thời điểm tăng phiên bản token gần nhất: danh sách thu hồi chỉ nạp user đổi trong thời hạn access token
+    @Column(name = "token_version_changed_at")
+    private LocalDateTime tokenVersionChangedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -59,6 +73,14 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Tăng phiên bản token → mọi JWT đã cấp trước đó bị thu hồi (TokenRevocationList)
+     */
+    public void bumpTokenVersion() {
+        tokenVersion = tokenVersion != null ? tokenVersion + 1 : 1;
+        tokenVersionChangedAt = LocalDateTime.now();
+    }
+
     // Relationships
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Booking> bookings;
@@ -0,0 +1,23 @@
+package com.cinema.repository;
+
+import com.cinema.model.entity.DeletedUser;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeletedUserRepository extends JpaRepository<DeletedUser, Long> {
+    // Id các user bị xóa từ thời điểm since (token cấp trước khi xóa có thể còn hạn)
+    @Query("SELECT d.userId FROM DeletedUser d WHERE d.deletedAt >= :since")
+    List<Long> findUserIdsDeletedSince(@Param("since") LocalDateTime since);
+
+    // Xóa tombstone cũ hơn thời điểm before (mọi token liên quan đã hết hạn)
+    @Modifying
+    @Query("DELETE FROM DeletedUser d WHERE d.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") LocalDateTime before);
+}
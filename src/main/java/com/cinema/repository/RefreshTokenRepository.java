@@ -0,0 +1,50 @@
+package com.cinema.repository;
+
+import com.cinema.model.entity.RefreshToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    // Tìm refresh token theo hash (unique index → tra cứu 1 dòng), kèm user
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Đánh dấu token đã dùng, chỉ thành công nếu chưa dùng + chưa thu hồi (chặn 2 request refresh song song)
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usedAt = :now " +
+           "WHERE r.id = :id AND r.usedAt IS NULL AND r.revoked = false")
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Thu hồi cả family (phát hiện dùng lại token)
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId AND r.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    // Thu hồi mọi refresh token của user (đổi mật khẩu, bị khóa...)
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.user.id = :userId AND r.revoked = false")
+    int revokeAllByUserId(@Param("userId") Long userId);
+
+    // Xóa mọi refresh token của user (trước khi xóa user)
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    // Lấy 1 batch id token đã hết hạn (dọn dẹp theo batch)
+    @Query("SELECT r.id FROM RefreshToken r WHERE r.expiresAt < :now ORDER BY r.id")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Xóa theo danh sách id
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
@@ -1,17 +1,40 @@
 package com.cinema.repository;
 
 import com.cinema.model.entity.Refreshment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface RefreshmentRepository extends JpaRepository<Refreshment, Long> {
-    // Tìm đồ ăn/đồ uống còn bán
+    // Tìm đồ ăn/đồ uống còn bán (query cache: tự mất hiệu lực khi bảng refreshments thay đổi)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Refreshment> findByIsCurrentTrue();
     
     // Tìm đồ ăn/đồ uống theo tên
     List<Refreshment> findByNameContaining(String keyword);
-}
 
+    // Bật/tắt bán hàng loạt theo danh sách id (1 câu UPDATE, bỏ qua dòng đã đúng trạng thái)
+    @Modifying
+    @Query("UPDATE Refreshment r SET r.isCurrent = :isCurrent, r.updatedAt = :now " +
+           "WHERE r.id IN :ids AND r.isCurrent <> :isCurrent")
+    int updateIsCurrentByIds(@Param("ids") List<Long> ids,
+                             @Param("isCurrent") Boolean isCurrent,
+                             @Param("now") LocalDateTime now);
+
+    // Bật/tắt bán hàng loạt theo tên (không phân biệt hoa thường)
+    @Modifying
+    @Query("UPDATE Refreshment r SET r.isCurrent = :isCurrent, r.updatedAt = :now " +
+           "WHERE LOWER(r.name) LIKE LOWER(CONCAT('%', :keyword, '%')) AND r.isCurrent <> :isCurrent")
+    int updateIsCurrentByNameContaining(@Param("keyword") String keyword,
+                                        @Param("isCurrent") Boolean isCurrent,
+                                        @Param("now") LocalDateTime now);
+}
@@ -1,7 +1,10 @@
 package com.cinema.repository;
 
 import com.cinema.model.entity.Room;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +12,8 @@ import java.util.Optional;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
-    // Tìm phòng theo rạp phim
+    // Tìm phòng theo rạp phim (query cache: tự mất hiệu lực khi bảng rooms thay đổi)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Room> findByCinemaId(Long cinemaId);
     
     // Tìm phòng theo rạp và số phòng
@@ -17,5 +21,8 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     
     // Kiểm tra số phòng đã tồn tại trong rạp chưa
     boolean existsByCinemaIdAndRoomNumber(Long cinemaId, String roomNumber);
+    
+    // Phòng cũ chưa có sơ đồ ghế nén
+    List<Room> findBySeatLayoutIsNull();
 }
 
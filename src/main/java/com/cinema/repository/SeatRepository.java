@@ -3,12 +3,16 @@ package com.cinema.repository;
 import com.cinema.model.entity.Seat;
 import com.cinema.model.enums.SeatType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface SeatRepository extends JpaRepository<Seat, Long> {
+public interface SeatRepository extends JpaRepository<Seat, Long>, SeatRepositoryCustom {
     // Tìm ghế theo phòng
     List<Seat> findByRoomId(Long roomId);
     
@@ -17,5 +21,28 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     
     // Tìm ghế theo phòng và loại
     List<Seat> findByRoomIdAndType(Long roomId, SeatType type);
-}
+    
+    // Chỉ lấy id + số ghế (dùng để gắn id vào sơ đồ ghế nén, không load cả entity)
+    @Query("SELECT s.id AS id, s.seatNumber AS seatNumber FROM Seat s WHERE s.room.id = :roomId")
+    List<SeatIdView> findIdsByRoomId(@Param("roomId") Long roomId);
+    
+    // Xóa toàn bộ ghế của phòng bằng 1 statement (không load từng ghế)
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Seat s WHERE s.room.id = :roomId")
+    int deleteByRoomId(@Param("roomId") Long roomId);
 
+    // Projection id + số ghế
+    interface SeatIdView {
+        Long getId();
+        String getSeatNumber();
+    }
+
+    // Đổi loại ghế hàng loạt theo danh sách phòng + danh sách hàng (1 câu UPDATE, bỏ qua ghế đã đúng loại)
+    @Modifying
+    @Query("UPDATE Seat s SET s.type = :type, s.updatedAt = :now " +
+           "WHERE s.room.id IN :roomIds AND s.row IN :rows AND s.type <> :type")
+    int updateTypeByRoomIdsAndRows(@Param("roomIds") List<Long> roomIds,
+                                   @Param("rows") List<String> rows,
+                                   @Param("type") SeatType type,
+                                   @Param("now") LocalDateTime now);
+}
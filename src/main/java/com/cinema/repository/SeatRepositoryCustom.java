@@ -0,0 +1,20 @@
+package com.cinema.repository;
+
+import com.cinema.model.entity.Seat;
+
+import java.util.List;
+
+/**
+ * Các thao tác ghi ghế theo tập (set-based) mà Spring Data JPA không hỗ trợ hiệu quả
+ */
+public interface SeatRepositoryCustom {
+
+    /**
+     * Insert nhiều ghế cho 1 phòng bằng multi-row INSERT (chia chunk),
+     * thay vì 1 INSERT / ghế như saveAll với IDENTITY key.
+     * Chỉ dùng các field seatNumber, row, col, type của Seat truyền vào.
+     *
+     * @return số dòng đã insert
+     */
+    int insertAllForRoom(Long roomId, List<Seat> seats);
+}
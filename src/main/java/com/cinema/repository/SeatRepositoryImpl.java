@@ -0,0 +1,84 @@
+package com.cinema.repository;
+
+import com.cinema.model.entity.Room;
+import com.cinema.model.entity.Seat;
+import com.cinema.model.enums.SeatType;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation của SeatRepositoryCustom (Spring Data tự ghép vào SeatRepository theo hậu tố Impl).
+ * Dùng JdbcTemplate → chạy chung connection/transaction với JPA.
+ * Insert không đi qua Hibernate → tự xóa cache collection Room.seats (second-level cache) của phòng.
+ */
+@RequiredArgsConstructor
+public class SeatRepositoryImpl implements SeatRepositoryCustom {
+
+    // 500 dòng × 7 tham số = 3500 tham số / statement, an toàn cho cả MySQL và PostgreSQL
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO seats (room_id, seat_number, seat_row, col, type, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ROOM_SEATS_ROLE = Room.class.getName() + ".seats";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public int insertAllForRoom(Long roomId, List<Seat> seats) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int inserted = 0;
+        for (int from = 0; from < seats.size(); from += CHUNK_SIZE) {
+            List<Seat> chunk = seats.subList(from, Math.min(from + CHUNK_SIZE, seats.size()));
+
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + chunk.size() * (ROW_PLACEHOLDER.length() + 2));
+            sql.append(INSERT_PREFIX);
+            List<Object> params = new ArrayList<>(chunk.size() * 7);
+            for (int i = 0; i < chunk.size(); i++) {
+                Seat seat = chunk.get(i);
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(ROW_PLACEHOLDER);
+                params.add(roomId);
+                params.add(seat.getSeatNumber());
+                params.add(seat.getRow());
+                params.add(seat.getCol());
+                params.add((seat.getType() != null ? seat.getType() : SeatType.NORMAL).name());
+                params.add(now);
+                params.add(now);
+            }
+            inserted += jdbcTemplate.update(sql.toString(), params.toArray());
+        }
+        evictRoomSeats(roomId);
+        return inserted;
+    }
+
+    /**
+     * Xóa Room.seats của phòng khỏi cache ngay và sau khi transaction kết thúc
+     * (tránh request khác nạp lại danh sách ghế cũ trước khi insert được commit)
+     */
+    private void evictRoomSeats(Long roomId) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictCollectionData(ROOM_SEATS_ROLE, roomId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evictCollectionData(ROOM_SEATS_ROLE, roomId);
+                }
+            });
+        }
+    }
+}
@@ -1,16 +1,45 @@
 package com.cinema.repository;
 
 import com.cinema.model.entity.Showtime;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
+    // Danh sách suất chiếu có phân trang: JOIN FETCH Movie/Room/Cinema + count query riêng
+    // → 1 page = 2 statement, không lazy load từng dòng
+    @Query(value = "SELECT s FROM Showtime s " +
+                   "JOIN FETCH s.room r " +
+                   "JOIN FETCH r.cinema " +
+                   "JOIN FETCH s.movie",
+           countQuery = "SELECT COUNT(s) FROM Showtime s")
+    Page<Showtime> findAllWithDetails(Pageable pageable);
+    
+    // Chi tiết suất chiếu kèm Movie/Room/Cinema trong 1 query
+    @Query("SELECT s FROM Showtime s " +
+           "JOIN FETCH s.room r " +
+           "JOIN FETCH r.cinema " +
+           "JOIN FETCH s.movie " +
+           "WHERE s.id = :id")
+    Optional<Showtime> findWithDetailsById(@Param("id") Long id);
+    
+    // Khóa dòng suất chiếu (SELECT ... FOR UPDATE) đến hết transaction: các lần đặt vé cùng suất chiếu chạy tuần tự
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Showtime s WHERE s.id = :id")
+    Optional<Showtime> findByIdForUpdate(@Param("id") Long id);
+    
     // Tìm suất chiếu theo phim
     List<Showtime> findByMovieId(Long movieId);
     
@@ -27,7 +56,13 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
     List<Showtime> findByRoomId(Long roomId);
     
     // Tìm suất chiếu theo phòng (dùng relationship)
-    List<Showtime> findByRoom_Id(Long roomId);
+    // Eager load Room, Cinema và Movie để tránh N+1 khi convert sang response
+    @Query("SELECT s FROM Showtime s " +
+           "JOIN FETCH s.room r " +
+           "JOIN FETCH r.cinema " +
+           "JOIN FETCH s.movie " +
+           "WHERE r.id = :roomId")
+    List<Showtime> findByRoom_Id(@Param("roomId") Long roomId);
     
     // Tìm suất chiếu theo ngày (range [startOfDay, endOfDay])
     // Eager load Room và Cinema để tránh LazyInitializationException
@@ -41,6 +76,20 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
         @Param("endOfDay") LocalDateTime endOfDay
     );
     
+    // Tìm suất chiếu của một rạp theo ngày (dùng index (room_id, start_time))
+    @Query("SELECT s FROM Showtime s " +
+           "JOIN FETCH s.room r " +
+           "JOIN FETCH r.cinema c " +
+           "JOIN FETCH s.movie " +
+           "WHERE c.id = :cinemaId " +
+           "AND s.startTime >= :startOfDay AND s.startTime <= :endOfDay " +
+           "ORDER BY s.startTime")
+    List<Showtime> findByCinemaIdAndStartTimeBetween(
+        @Param("cinemaId") Long cinemaId,
+        @Param("startOfDay") LocalDateTime startOfDay,
+        @Param("endOfDay") LocalDateTime endOfDay
+    );
+    
     // Kiểm tra xung đột suất chiếu trong cùng phòng
     @Query("SELECT s FROM Showtime s WHERE s.room.id = :roomId " +
            "AND s.startTime < :endTime AND s.endTime > :startTime")
@@ -49,4 +98,22 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
         @Param("startTime") LocalDateTime startTime,
         @Param("endTime") LocalDateTime endTime
     );
-}
\ No newline at end of file
+
+    // Đổi giá hàng loạt các suất chiếu trong [from, to) theo bộ lọc (1 câu UPDATE).
+    // Bỏ qua suất chiếu đã đúng giá → chạy lại nhiều lần cho cùng kết quả.
+    @Modifying
+    @Query("UPDATE Showtime s SET s.price = :price, s.updatedAt = :now " +
+           "WHERE s.startTime >= :from AND s.startTime < :to AND s.price <> :price " +
+           "AND (:movieId IS NULL OR s.movie.id = :movieId) " +
+           "AND (:roomId IS NULL OR s.room.id = :roomId) " +
+           "AND (:cinemaId IS NULL OR s.room.id IN (SELECT r.id FROM Room r WHERE r.cinema.id = :cinemaId))")
+    int updatePriceInRange(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        @Param("cinemaId") Long cinemaId,
+        @Param("roomId") Long roomId,
+        @Param("movieId") Long movieId,
+        @Param("price") BigDecimal price,
+        @Param("now") LocalDateTime now
+    );
+}
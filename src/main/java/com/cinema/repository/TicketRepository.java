@@ -3,6 +3,8 @@ package com.cinema.repository;
 import com.cinema.model.entity.Ticket;
 import com.cinema.model.enums.BookingStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,15 +17,42 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     // Tìm vé theo ghế
     List<Ticket> findBySeatId(Long seatId);
 
-    // Tìm các vé theo danh sách ghế + showtime + status booking != CANCELLED
-    List<Ticket> findBySeatIdInAndBooking_Showtime_IdAndBooking_StatusNot(
-            List<Long> seatIds,
-            Long showtimeId,
-            BookingStatus status);
+    // Kiểm tra phòng đã có vé nào chưa (ghế đang được vé tham chiếu)
+    boolean existsBySeat_Room_Id(Long roomId);
+
+    // Lấy id các ghế (trong danh sách) đã có vé ở showtime + status booking != excludedStatus (chỉ trả id ghế)
+    @Query("SELECT t.seat.id FROM Ticket t JOIN t.booking b " +
+           "WHERE b.showtime.id = :showtimeId AND t.seat.id IN :seatIds AND b.status <> :excludedStatus")
+    List<Long> findOccupiedSeatIds(
+            @Param("showtimeId") Long showtimeId,
+            @Param("seatIds") List<Long> seatIds,
+            @Param("excludedStatus") BookingStatus excludedStatus);
+
+    // Lấy id tất cả ghế đã bán của showtime (status booking != excludedStatus) - dùng dựng bitset ghế đã bán
+    @Query("SELECT t.seat.id FROM Ticket t JOIN t.booking b " +
+           "WHERE b.showtime.id = :showtimeId AND b.status <> :excludedStatus")
+    List<Long> findSoldSeatIdsByShowtimeId(
+            @Param("showtimeId") Long showtimeId,
+            @Param("excludedStatus") BookingStatus excludedStatus);
 
     // Tìm vé theo showtime + status booking != CANCELLED
     List<Ticket> findByBooking_Showtime_IdAndBooking_StatusNot(
             Long showtimeId,
             BookingStatus status);
+
+    // Đếm số ghế đã bán theo từng showtime (1 query GROUP BY cho cả danh sách)
+    @Query("SELECT b.showtime.id AS showtimeId, COUNT(t.id) AS soldSeats " +
+           "FROM Ticket t JOIN t.booking b " +
+           "WHERE b.showtime.id IN :showtimeIds AND b.status <> :excludedStatus " +
+           "GROUP BY b.showtime.id")
+    List<ShowtimeSeatCount> countSoldSeatsByShowtimeIds(
+            @Param("showtimeIds") List<Long> showtimeIds,
+            @Param("excludedStatus") BookingStatus excludedStatus);
+
+    // Projection cho kết quả đếm ghế đã bán
+    interface ShowtimeSeatCount {
+        Long getShowtimeId();
+        Long getSoldSeats();
+    }
 }
 
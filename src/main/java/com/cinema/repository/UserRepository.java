@@ -12,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,5 +45,31 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
         @Param("keyword") String keyword,
         Pageable pageable
     );
+
+    // Lấy username + email của mọi user (dựng Bloom filter kiểm tra trùng)
+    @Query("SELECT u.username AS username, u.email AS email FROM User u")
+    List<UserIdentityView> findAllIdentities();
+
+    // Các user tăng phiên bản token từ thời điểm since (token cấp trước đó có thể còn hạn) - nạp danh sách thu hồi
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion, u.status AS status FROM User u " +
+           "WHERE u.tokenVersionChangedAt >= :since")
+    List<TokenVersionView> findTokenRevocations(@Param("since") LocalDateTime since);
+
+    // Phiên bản token + trạng thái của 1 user (cập nhật danh sách thu hồi khi user thay đổi)
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion, u.status AS status FROM User u WHERE u.id = :id")
+    Optional<TokenVersionView> findTokenVersionById(@Param("id") Long id);
+
+    // Projection username + email
+    interface UserIdentityView {
+        String getUsername();
+        String getEmail();
+    }
+
+    // Projection cho danh sách thu hồi token
+    interface TokenVersionView {
+        Long getId();
+        Integer getTokenVersion();
+        UserStatus getStatus();
+    }
 }
 
@@ -0,0 +1,146 @@
+package com.cinema.security;
+
+import com.cinema.exception.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * BoundedPasswordEncoder - chạy BCrypt (encode / matches) trên 1 thread pool riêng, có giới hạn.
+ *
+ * - Số thread cố định (mặc định = số CPU / 2) → bão đăng nhập không chiếm hết CPU của request đặt vé
+ * - Hàng đợi có sức chứa cố định: đầy thì từ chối ngay (ServerBusyException → 503 + Retry-After),
+ *   chờ quá timeout cũng từ chối, không để request Tomcat treo
+ * - simulateMatches(): chờ đúng bằng thời gian verify điển hình (EWMA) mà không tốn CPU,
+ *   dùng khi từ chối email không tồn tại trước khi authenticate (giữ thời gian phản hồi như nhau)
+ *
+ * Metrics (Micrometer):
+ *   auth.password.hash{op=encode|matches}  thời gian hash trên pool
+ *   auth.password.wait                     thời gian chờ trong hàng đợi
+ *   auth.password.queue.depth / auth.password.active   số việc đang chờ / đang chạy
+ *   auth.password.rejected                 số lần từ chối (hàng đợi đầy / quá timeout)
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    // Thời gian verify điển hình (chờ + hash), trung bình trượt hệ số 1/8
+    private volatile long typicalMatchNanos;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  Duration timeout, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.timeoutNanos = timeout.toNanos();
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("op", "encode").register(registry);
+        this.matchesTimer = Timer.builder("auth.password.hash").tag("op", "matches").register(registry);
+        this.waitTimer = Timer.builder("auth.password.wait").register(registry);
+        this.rejected = Counter.builder("auth.password.rejected").register(registry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+
+        // Đo lúc khởi động để simulateMatches có giá trị ban đầu hợp lý (lấy lần cuối, sau khi JIT đã ấm)
+        String sample = delegate.encode("calibration");
+        long elapsed = 0;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            delegate.matches("calibration", sample);
+            elapsed = System.nanoTime() - start;
+        }
+        this.typicalMatchNanos = elapsed;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean result = submit(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+        long elapsed = System.nanoTime() - start;
+        typicalMatchNanos += (elapsed - typicalMatchNanos) / 8;
+        return result;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Chờ khoảng thời gian của 1 lần verify điển hình, không chiếm thread hash / CPU
+     */
+    public void simulateMatches() {
+        LockSupport.parkNanos(typicalMatchNanos);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task, Timer timer) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServerBusyException("Hệ thống đang bận, vui lòng thử lại sau", 1);
+        }
+
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ServerBusyException("Hệ thống đang bận, vui lòng thử lại sau", 1);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServerBusyException("Yêu cầu bị hủy, vui lòng thử lại", 1);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
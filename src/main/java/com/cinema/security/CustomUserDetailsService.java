@@ -23,6 +23,7 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -33,6 +34,14 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return new CustomUserDetails(user);
     }
+
+    /**
+     * Load UserDetails cho request đã có JWT: dùng PrincipalCache (TTL ngắn) thay vì query DB mỗi request.
+     * Đăng nhập (kiểm tra mật khẩu) vẫn dùng loadUserByUsername để luôn lấy dữ liệu mới nhất.
+     */
+    public CustomUserDetails loadCachedUserByUsername(String username) throws UsernameNotFoundException {
+        return principalCache.get(username, email -> (CustomUserDetails) loadUserByUsername(email));
+    }
 }
 
 
@@ -1,5 +1,9 @@
 package com.cinema.security;
 
+import com.cinema.model.entity.User;
+import com.cinema.model.enums.UserRole;
+import com.cinema.model.enums.UserStatus;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +30,8 @@ import java.io.IOException;
  * - Đọc JWT token từ header "Authorization: Bearer <token>".
  * - Validate token (chữ ký, hết hạn, username).
  * - Nếu hợp lệ: load User từ DB → set Authentication vào SecurityContext.
+ *   Chế độ claims-only (security.auth.claims-only=true): dựng principal thẳng từ claims, không đọc DB;
+ *   token cũ bị loại qua TokenRevocationList (phiên bản token + user bị khóa / xóa).
  * - Cho phép request đi tiếp vào Controller (hoặc bị chặn nếu không hợp lệ).
  *
  * Filter này chạy TRƯỚC UsernamePasswordAuthenticationFilter (filter mặc định của Spring).
@@ -36,19 +42,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    private final JwtUtils jwtUtils;
+    private final JwtVerifier jwtVerifier;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
 
     /**
      * doFilterInternal: method chính của filter, được gọi cho MỖI request HTTP.
      *
      * Flow:
      * 1. Đọc token từ header Authorization.
-     * 2. Nếu có token → parse username từ token.
+     * 2. Nếu có token → verify 1 lần (JwtVerifier: chữ ký + hạn) → lấy username (subject).
      * 3. Nếu username hợp lệ + SecurityContext chưa có Authentication:
-     *    - Load UserDetails từ DB (CustomUserDetailsService).
-     *    - Validate token với username đó.
-     *    - Nếu hợp lệ → tạo Authentication → set vào SecurityContext.
+     *    - Load UserDetails (CustomUserDetailsService, qua PrincipalCache),
+     *      hoặc dựng từ claims nếu bật claims-only (token bị thu hồi → không set Authentication).
+     *    - Tạo Authentication → set vào SecurityContext.
      * 4. Cho request đi tiếp (filterChain.doFilter).
      */
     @Override
@@ -60,20 +67,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = parseJwt(request);
 
             if (jwt != null) {
-                // Bước 2: Lấy username từ token
-                String username = jwtUtils.getUsernameFromToken(jwt);
-                log.debug("JWT Token parsed, username: {}", username);
+                // Bước 2: Verify token 1 lần (chữ ký + hạn) và lấy claims, null nếu không hợp lệ
+                Claims claims = jwtVerifier.verify(jwt);
+                String username = claims != null ? claims.getSubject() : null;
+                if (claims == null) {
+                    log.warn("Invalid or expired JWT token");
+                }
 
                 // Bước 3: Nếu có username + SecurityContext chưa có Authentication
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     try {
-                        // Load UserDetails từ DB (lấy role, status mới nhất)
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                        log.debug("UserDetails loaded for username: {}", username);
+                        // Claims-only: dựng từ claims (không đọc DB), ngược lại load UserDetails
+                        // (cache theo email, TTL ngắn + bỏ cache khi user thay đổi)
+                        UserDetails userDetails = revocationList.isEnabled() && hasPrincipalClaims(claims)
+                                ? principalFromClaims(claims)
+                                : userDetailsService.loadCachedUserByUsername(username);
+                        if (userDetails == null) {
+                            // Token đã bị thu hồi (đổi mật khẩu / role / trạng thái, user bị xóa)
+                            log.warn("Revoked JWT token for username: {}", username);
+                        } else {
+                            log.debug("UserDetails loaded for username: {}", username);
 
-                        // Bước 4: Validate token với username đó
-                        if (jwtUtils.validateToken(jwt, username)) {
-                            // Bước 5: Tạo Authentication object và set vào SecurityContext
+                            // Bước 4: Tạo Authentication object và set vào SecurityContext
                             UsernamePasswordAuthenticationToken authentication =
                                     new UsernamePasswordAuthenticationToken(
                                             userDetails,
@@ -85,8 +100,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             // Set vào SecurityContext → các filter/controller sau có thể dùng
                             SecurityContextHolder.getContext().setAuthentication(authentication);
                             log.debug("Authentication set for username: {}", username);
-                        } else {
-                            log.warn("Token validation failed for username: {}", username);
                         }
                     } catch (org.springframework.security.core.userdetails.UsernameNotFoundException ex) {
                         // User không tồn tại trong DB
@@ -100,10 +113,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.error("Cannot set user authentication: {}", ex.getMessage(), ex);
         }
 
-        // Bước 6: Cho request đi tiếp vào filter chain (hoặc vào Controller nếu đã qua hết filter)
+        // Bước 5: Cho request đi tiếp vào filter chain (hoặc vào Controller nếu đã qua hết filter)
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Token đủ claims để dựng principal không cần DB (token cấp trước khi có claim "ver" vẫn dùng được)
+     */
+    private boolean hasPrincipalClaims(Claims claims) {
+        return claims.get("id") != null && claims.get("role") != null && claims.get("username") != null;
+    }
+
+    /**
+     * Dựng CustomUserDetails từ claims đã verify, null nếu token đã bị thu hồi.
+     * User dựng ra chỉ mang các field có trong token (không có password, trạng thái luôn ACTIVE
+     * vì user bị khóa / xóa đã nằm trong danh sách thu hồi).
+     */
+    private CustomUserDetails principalFromClaims(Claims claims) {
+        Long userId = ((Number) claims.get("id")).longValue();
+        Number version = claims.get("ver", Number.class);
+        if (revocationList.isRevoked(userId, version != null ? version.intValue() : 0)) {
+            return null;
+        }
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(claims.get("username", String.class));
+        user.setEmail(claims.getSubject());
+        user.setRole(UserRole.valueOf(claims.get("role", String.class)));
+        user.setFullName(claims.get("fullName", String.class));
+        user.setStatus(UserStatus.ACTIVE);
+        user.setTokenVersion(version != null ? version.intValue() : 0);
+        return new CustomUserDetails(user);
+    }
+
     /**
      * parseJwt: Đọc token từ header "Authorization: Bearer <token>".
      *
@@ -2,6 +2,7 @@ package com.cinema.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,30 +25,34 @@ import java.util.Date;
  * Lưu ý:
  * - Dùng thư viện jjwt 0.12.x (đã khai báo trong pom.xml).
  * - Secret key phải đủ mạnh (>= 32 bytes cho HS256) → xem jwt.secret.
+ * - SecretKey và JwtParser được tạo 1 lần lúc khởi động (immutable, thread-safe) và dùng lại cho mọi request.
  */
 @Component
 public class JwtUtils {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;          // Chuỗi bí mật dùng để ký token
-
-    @Value("${jwt.expiration}")
-    private long jwtExpirationMs;      // Thời gian sống của token (milliseconds)
+    private final long jwtExpirationMs;      // Thời gian sống của token (milliseconds)
+    private final SecretKey signingKey;      // Key HMAC tạo từ jwt.secret
+    private final JwtParser parser;          // Parser đã gắn sẵn key để verify chữ ký
 
     /**
      * Tạo SecretKey từ chuỗi secret trong cấu hình.
      * - Ở đây dùng trực tiếp bytes UTF-8 của chuỗi secret.
      * - YÊU CẦU: độ dài chuỗi >= 32 bytes để dùng cho HS256.
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtils(@Value("${jwt.secret}") String jwtSecret,
+                    @Value("${jwt.expiration}") long jwtExpirationMs) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     /**
      * Tạo JWT token từ User:
      * - subject: email (đang dùng email để đăng nhập)
      * - kèm claims: id, username, email, role, fullName
+     * - ver: phiên bản token của user (User.tokenVersion) → dùng để thu hồi token cũ ở chế độ claims-only
      */
     public String generateToken(com.cinema.model.entity.User user) {
         Date now = new Date();
@@ -60,17 +65,25 @@ public class JwtUtils {
                 .claim("email", user.getEmail())
                 .claim("role", user.getRole() != null ? user.getRole().name() : null)
                 .claim("fullName", user.getFullName())
+                .claim("ver", user.getTokenVersion() != null ? user.getTokenVersion() : 0)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey()) // HS256 mặc định với SecretKey HMAC
+                .signWith(signingKey) // HS256 mặc định với SecretKey HMAC
                 .compact();
     }
 
+    /**
+     * Thời gian sống của access token (milliseconds).
+     */
+    public long getExpirationMs() {
+        return jwtExpirationMs;
+    }
+
     /**
      * Đọc username (subject) từ token.
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
+        Claims claims = parseClaims(token);
         return claims.getSubject();
     }
 
@@ -78,20 +91,16 @@ public class JwtUtils {
      * Đọc thời điểm hết hạn từ token.
      */
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
+        Claims claims = parseClaims(token);
         return claims.getExpiration();
     }
 
     /**
-     * Parse và trả về toàn bộ Claims từ token.
-     * - Nếu token không hợp lệ / sai chữ ký / format sai → ném JwtException.
+     * Parse + verify chữ ký + kiểm tra hạn, trả về toàn bộ Claims từ token.
+     * - Nếu token không hợp lệ / sai chữ ký / hết hạn / format sai → ném JwtException.
      */
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -102,7 +111,7 @@ public class JwtUtils {
      */
     public boolean validateToken(String token, String username) {
         try {
-            Claims claims = getAllClaimsFromToken(token);
+            Claims claims = parseClaims(token);
             String usernameFromToken = claims.getSubject();
             Date expiration = claims.getExpiration();
 
@@ -113,5 +122,3 @@ public class JwtUtils {
         }
     }
 }
-
-
@@ -0,0 +1,126 @@
+package com.cinema.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtVerifier - verify JWT 1 lần cho mỗi request.
+ *
+ * - Parse + verify chữ ký + kiểm tra hạn đúng 1 lần bằng parser dựng sẵn trong JwtUtils.
+ * - Token đã verify được giữ trong LRU nhỏ: SHA-256(token) → Claims, mỗi entry hết hạn đúng lúc token hết hạn.
+ *   Request sau với cùng token chỉ tốn 1 lần hash thay vì verify HMAC + parse JSON.
+ * - Key là hash (không giữ nguyên token trong bộ nhớ).
+ *
+ * Metrics: auth.jwt.verify{result=cache_hit|valid|invalid}, cache.gets{cache=jwt-verified}
+ *
+ * Cấu hình:
+ *   security.jwt-cache.max-size=10000
+ */
+@Component
+public class JwtVerifier {
+
+    private final JwtUtils jwtUtils;
+    private final Cache<String, Claims> verified;
+
+    private final Timer cacheHitTimer;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+
+    public JwtVerifier(JwtUtils jwtUtils,
+                       MeterRegistry meterRegistry,
+                       @Value("${security.jwt-cache.max-size:10000}") long maxSize) {
+        this.jwtUtils = jwtUtils;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        this.cacheHitTimer = Timer.builder("auth.jwt.verify").tag("result", "cache_hit").register(meterRegistry);
+        this.validTimer = Timer.builder("auth.jwt.verify").tag("result", "valid").register(meterRegistry);
+        this.invalidTimer = Timer.builder("auth.jwt.verify").tag("result", "invalid").register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt-verified");
+    }
+
+    /**
+     * Verify token và trả về Claims, hoặc null nếu token không hợp lệ / sai chữ ký / hết hạn
+     */
+    public Claims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        String key = hash(token);
+        Claims cached = verified.getIfPresent(key);
+        if (cached != null) {
+            cacheHitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+        Claims claims = parse(token);
+        if (claims == null) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+        verified.put(key, claims);
+        validTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
+    /**
+     * Bỏ toàn bộ token đã verify (ví dụ khi đổi secret / thu hồi hàng loạt)
+     */
+    public void evictAll() {
+        verified.invalidateAll();
+    }
+
+    private Claims parse(String token) {
+        try {
+            Claims claims = jwtUtils.parseClaims(token);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return null;
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 không khả dụng", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.cinema.security;
+
+import com.cinema.service.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * PrincipalCache - cache CustomUserDetails theo email cho JwtAuthenticationFilter.
+ *
+ * - Giới hạn số entry (maximumSize) + TTL ngắn (expireAfterWrite) → thay đổi ngoài luồng app
+ *   (sửa thẳng DB) cũng chỉ trễ tối đa 1 TTL.
+ * - Bỏ entry ngay khi user bị cập nhật / xóa / đổi mật khẩu / đổi trạng thái (UserChangedEvent):
+ *   1 lần ngay khi phát event và 1 lần sau commit (tránh request song song nạp lại dữ liệu cũ).
+ * - Metrics: cache.gets{cache=principals,result=hit|miss}, cache.evictions, cache.size
+ *
+ * Cấu hình:
+ *   security.principal-cache.max-size=10000
+ *   security.principal-cache.ttl=60s
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, CustomUserDetails> principals;
+
+    public PrincipalCache(
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl:60s}") Duration ttl) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+    }
+
+    /**
+     * Lấy principal đã cache, nếu chưa có thì load (loader ném UsernameNotFoundException nếu không tồn tại)
+     */
+    public CustomUserDetails get(String email, Function<String, CustomUserDetails> loader) {
+        return principals.get(email, loader);
+    }
+
+    public void evict(String email) {
+        principals.invalidate(email);
+    }
+
+    public void evictAll() {
+        principals.invalidateAll();
+    }
+
+    @EventListener
+    public void onUserChanging(UserChangedEvent event) {
+        event.getEmails().forEach(this::evict);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        event.getEmails().forEach(this::evict);
+    }
+}
@@ -0,0 +1,103 @@
+package com.cinema.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimitFilter - giới hạn tần suất request theo route (RateLimiter: token bucket GCRA không khóa).
+ *
+ * Chạy ngay SAU JwtAuthenticationFilter (xem SecurityConfig) để rule theo user lấy được id user đã xác thực;
+ * request chưa đăng nhập được tính theo IP. Vượt giới hạn → 429 + Retry-After (giây), không vào tới
+ * Controller / DB nên 1 script spam không chiếm hết connection pool.
+ *
+ * IP lấy từ request.getRemoteAddr(): chạy sau reverse proxy phải bật server.forward-headers-strategy
+ * (xem application-production.properties), nếu không mọi client dùng chung 1 bucket theo IP của proxy.
+ *
+ * Metrics: http.rate-limit.rejected{rule}
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    // Counter dựng sẵn cho từng rule, không register lại trên mỗi request bị chặn
+    private final Map<RateLimiter.Rule, Counter> rejected;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        Map<RateLimiter.Rule, Counter> counters = new HashMap<>();
+        for (RateLimiter.Rule rule : rateLimiter.getRules()) {
+            counters.put(rule, Counter.builder("http.rate-limit.rejected")
+                    .tag("rule", rule.getName())
+                    .register(meterRegistry));
+        }
+        this.rejected = Map.copyOf(counters);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.Rule rule = rateLimiter.isEnabled()
+                ? rateLimiter.match(request.getMethod(), request.getRequestURI())
+                : null;
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(rule, keyOf(rule, request));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected.get(rule).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Bạn thao tác quá nhanh, vui lòng thử lại sau " + retryAfterSeconds + " giây");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), body);
+    }
+
+    /**
+     * Key của bucket: "u:<userId>" nếu rule theo user và đã đăng nhập, ngược lại "ip:<địa chỉ client>"
+     */
+    private String keyOf(RateLimiter.Rule rule, HttpServletRequest request) {
+        if (rule.getKeyType() == RateLimiter.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+                return "u:" + userDetails.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,184 @@
+package com.cinema.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RateLimiter - token bucket theo route, mỗi bucket là 1 AtomicLong (thuật toán GCRA, không khóa).
+ *
+ * GCRA: bucket chỉ lưu "thời điểm đến lý thuyết" (TAT, nano giây). Mỗi request đẩy TAT thêm 1 khoảng
+ * interval = period / permits; request bị từ chối nếu TAT mới vượt quá now + burst (= permits × interval).
+ * Cập nhật bằng CAS trên AtomicLong → không lock, mỗi lần kiểm tra chỉ tốn 1 lookup cache + 1 CAS.
+ *
+ * Bảng bucket của mỗi rule là Caffeine cache giới hạn kích thước, key không có request trong 1 period
+ * thì bị bỏ (bucket rỗng tương đương bucket đầy token, không mất thông tin).
+ *
+ * Cấu hình (application.properties), rule đầu tiên khớp được áp dụng:
+ *   rate-limit.rules=POST /api/auth/login=ip:10/1m,POST /api/bookings=user:20/1m,...
+ *   - METHOD (hoặc *) + path pattern: "*" khớp đúng 1 đoạn path, "**" ở cuối khớp phần còn lại
+ *   - key: ip (theo địa chỉ client) | user (theo user đã đăng nhập, chưa đăng nhập thì theo ip)
+ *   - permits/period: số request cho phép trong period (cũng là burst tối đa)
+ *   rate-limit.max-keys=100000   (số bucket tối đa mỗi rule)
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    public enum KeyType { IP, USER }
+
+    /**
+     * Luật giới hạn của 1 route (immutable, kèm bảng bucket riêng)
+     */
+    public static final class Rule {
+        private final String name;
+        private final String method;
+        private final String[] segments;
+        private final KeyType keyType;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Cache<String, AtomicLong> buckets;
+
+        private Rule(String method, String pattern, KeyType keyType, int permits, Duration period, long maxKeys) {
+            this.name = method + " " + pattern;
+            this.method = method;
+            this.segments = pattern.substring(pattern.startsWith("/") ? 1 : 0).split("/");
+            this.keyType = keyType;
+            this.intervalNanos = period.toNanos() / permits;
+            this.burstNanos = intervalNanos * permits;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(period)
+                    .build();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public KeyType getKeyType() {
+            return keyType;
+        }
+
+        public long estimatedSize() {
+            return buckets.estimatedSize();
+        }
+    }
+
+    private final boolean enabled;
+    private final List<Rule> rules;
+
+    public RateLimiter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                       @Value("${rate-limit.rules:}") String rules,
+                       @Value("${rate-limit.max-keys:100000}") long maxKeys) {
+        this.enabled = enabled;
+        this.rules = compileRules(rules, maxKeys);
+        log.info("Rate limit {}: {}", enabled ? "enabled" : "disabled", rules);
+    }
+
+    public boolean isEnabled() {
+        return enabled && !rules.isEmpty();
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Rule đầu tiên khớp method + path, null nếu route không bị giới hạn
+     */
+    public Rule match(String method, String path) {
+        for (Rule rule : rules) {
+            if (!"*".equals(rule.method) && !rule.method.equals(method)) {
+                continue;
+            }
+            if (matches(rule.segments, path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lấy 1 token từ bucket của key: trả về 0 nếu được phép, ngược lại số nano giây phải chờ
+     */
+    public long tryAcquire(Rule rule, String key) {
+        AtomicLong tat = rule.buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long current = tat.get();
+            long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long next = base + rule.intervalNanos;
+            long excess = next - now - rule.burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * So khớp path theo từng đoạn, không cấp phát (không dùng regex / AntPathMatcher trên đường nóng)
+     */
+    private static boolean matches(String[] segments, String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**") && i == segments.length - 1) {
+                return true;
+            }
+            if (start > path.length()) {
+                return false;
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            boolean last = i == segments.length - 1;
+            if (!segment.equals("*")
+                    && (segment.length() != end - start || !path.regionMatches(start, segment, 0, segment.length()))) {
+                return false;
+            }
+            if (last) {
+                return end == path.length();
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private static List<Rule> compileRules(String rules, long maxKeys) {
+        List<Rule> compiled = new ArrayList<>();
+        for (String spec : rules.split(",")) {
+            if (spec.isBlank()) {
+                continue;
+            }
+            // <METHOD> <pattern>=<ip|user>:<permits>/<period>
+            String[] routeAndLimit = spec.trim().split("=");
+            String[] route = routeAndLimit[0].trim().split("\\s+");
+            String[] keyAndRate = routeAndLimit.length == 2 ? routeAndLimit[1].trim().split(":") : new String[0];
+            String[] rate = keyAndRate.length == 2 ? keyAndRate[1].split("/") : new String[0];
+            if (route.length != 2 || rate.length != 2) {
+                throw new IllegalArgumentException("Luật rate limit không hợp lệ: " + spec);
+            }
+            int permits = Integer.parseInt(rate[0].trim());
+            if (permits <= 0) {
+                throw new IllegalArgumentException("Số request cho phép phải > 0: " + spec);
+            }
+            compiled.add(new Rule(route[0].toUpperCase(), route[1],
+                    KeyType.valueOf(keyAndRate[0].trim().toUpperCase()),
+                    permits, DurationStyle.detectAndParse(rate[1].trim()), maxKeys));
+        }
+        return List.copyOf(compiled);
+    }
+}
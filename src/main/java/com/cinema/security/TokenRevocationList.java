@@ -0,0 +1,155 @@
+package com.cinema.security;
+
+import com.cinema.config.DataSourcePool;
+import com.cinema.model.enums.UserStatus;
+import com.cinema.repository.DeletedUserRepository;
+import com.cinema.repository.UserRepository;
+import com.cinema.service.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * TokenRevocationList - danh sách thu hồi JWT cho chế độ xác thực claims-only (không đọc DB mỗi request).
+ *
+ * Mỗi user có phiên bản token (User.tokenVersion, nhúng vào claim "ver" lúc login). Token bị thu hồi khi:
+ * - "ver" nhỏ hơn phiên bản hiện tại (đã đổi mật khẩu / role / trạng thái / email / username), hoặc
+ * - user không còn ACTIVE, hoặc đã bị xóa.
+ *
+ * Chỉ giữ user tăng phiên bản (User.tokenVersionChangedAt) / bị xóa trong thời hạn access token (jwt.expiration):
+ * token cấp trước đó đều đã hết hạn, user bị khóa không được cấp token mới (login / refresh kiểm tra trạng thái).
+ * Danh sách vì vậy nhỏ và không phình theo thời gian; giữ trong 1 Map immutable (đọc không khóa,
+ * ghi tuần tự qua synchronized) userId → phiên bản tối thiểu còn hợp lệ.
+ *
+ * Làm mới:
+ * - Toàn bộ lúc khởi động và định kỳ mỗi security.revocation.refresh-interval-ms (thay đổi từ instance khác
+ *   có hiệu lực chậm nhất 1 chu kỳ; sửa thẳng DB phải tăng cả token_version + token_version_changed_at);
+ * - Ngay sau commit với user vừa thay đổi trên instance này (UserChangedEvent).
+ * User bị xóa không còn dòng trong users nên UserService ghi tombstone vào deleted_users (cùng transaction xóa);
+ * tombstone được nạp khi còn trong thời hạn access token (jwt.expiration) và dọn định kỳ sau đó.
+ *
+ * Cấu hình:
+ *   security.auth.claims-only=false                 (bật chế độ claims-only)
+ *   security.revocation.refresh-interval-ms=30000
+ *   security.revocation.tombstone-purge.cron=0 45 3 * * *
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    // Phiên bản tối thiểu cho user không còn ACTIVE / đã xóa → mọi token đều bị thu hồi
+    private static final int REVOKE_ALL = Integer.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final DeletedUserRepository deletedUserRepository;
+    private final boolean enabled;
+    private final long revocationWindowMs;
+
+    private volatile Map<Long, Integer> minVersions = Map.of();
+
+    public TokenRevocationList(UserRepository userRepository,
+                               DeletedUserRepository deletedUserRepository,
+                               @Value("${security.auth.claims-only:false}") boolean enabled,
+                               @Value("${jwt.expiration}") long jwtExpirationMs) {
+        this.userRepository = userRepository;
+        this.deletedUserRepository = deletedUserRepository;
+        this.enabled = enabled;
+        this.revocationWindowMs = jwtExpirationMs;
+    }
+
+    /**
+     * Chế độ claims-only có bật không (JwtAuthenticationFilter dựng principal từ claims thay vì load DB)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Token của userId với phiên bản tokenVersion có bị thu hồi không
+     */
+    public boolean isRevoked(Long userId, int tokenVersion) {
+        Integer minVersion = minVersions.get(userId);
+        return minVersion != null && tokenVersion < minVersion;
+    }
+
+    /**
+     * Nạp lại toàn bộ danh sách thu hồi từ DB (lúc khởi động + định kỳ)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-interval-ms:30000}",
+            initialDelayString = "${security.revocation.refresh-interval-ms:30000}")
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime since = windowStart();
+        Map<Long, Integer> loaded = new HashMap<>();
+        for (UserRepository.TokenVersionView view : userRepository.findTokenRevocations(since)) {
+            loaded.put(view.getId(), minVersionOf(view));
+        }
+        deletedUserRepository.findUserIdsDeletedSince(since)
+                .forEach(id -> loaded.put(id, REVOKE_ALL));
+        minVersions = Map.copyOf(loaded);
+        log.debug("Token revocation list refreshed: {} entries", loaded.size());
+    }
+
+    /**
+     * User vừa thay đổi (sau commit) → cập nhật ngay mục của user đó, không chờ chu kỳ làm mới
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        if (!enabled || event.getUserId() == null) {
+            return;
+        }
+        Long userId = event.getUserId();
+        Optional<UserRepository.TokenVersionView> view = userRepository.findTokenVersionById(userId);
+        // Không còn dòng users → user đã bị xóa (tombstone đã ghi trong DB, lần nạp lại sau vẫn giữ)
+        int minVersion = view.map(TokenRevocationList::minVersionOf).orElse(REVOKE_ALL);
+        Map<Long, Integer> updated = new HashMap<>(minVersions);
+        if (minVersion > 0) {
+            updated.put(userId, minVersion);
+        } else {
+            updated.remove(userId);
+        }
+        minVersions = Map.copyOf(updated);
+    }
+
+    /**
+     * Dọn tombstone user đã xóa khi mọi access token cấp trước lúc xóa đã hết hạn
+     */
+    @Scheduled(cron = "${security.revocation.tombstone-purge.cron:0 45 3 * * *}")
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
+    @Transactional
+    public void purgeTombstones() {
+        int purged = deletedUserRepository.deleteByDeletedAtBefore(windowStart());
+        if (purged > 0) {
+            log.info("Purged {} deleted-user tombstone(s)", purged);
+        }
+    }
+
+    /**
+     * Thay đổi trước thời điểm này không còn token nào bị ảnh hưởng (mọi access token cấp trước đó đã hết hạn)
+     */
+    private LocalDateTime windowStart() {
+        return LocalDateTime.now().minus(Duration.ofMillis(revocationWindowMs));
+    }
+
+    private static int minVersionOf(UserRepository.TokenVersionView view) {
+        if (view.getStatus() != UserStatus.ACTIVE) {
+            return REVOKE_ALL;
+        }
+        return view.getTokenVersion() != null ? view.getTokenVersion() : 0;
+    }
+}
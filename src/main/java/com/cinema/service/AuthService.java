@@ -2,21 +2,26 @@ package com.cinema.service;
 
 import com.cinema.model.dto.request.ChangePasswordRequest;
 import com.cinema.model.dto.request.LoginRequest;
+import com.cinema.model.dto.request.RefreshTokenRequest;
 import com.cinema.model.dto.request.RegisterRequest;
 import com.cinema.model.dto.request.UpdateProfileRequest;
 import com.cinema.model.dto.response.AuthResponse;
+import com.cinema.model.dto.response.AvailabilityResponse;
 import com.cinema.model.dto.response.UserResponse;
 import com.cinema.model.entity.User;
 import com.cinema.model.enums.UserRole;
 import com.cinema.model.enums.UserStatus;
 import com.cinema.repository.UserRepository;
+import com.cinema.security.BoundedPasswordEncoder;
 import com.cinema.security.JwtUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,22 +33,23 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     private final JwtUtils jwtUtils;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final UserIdentityIndex userIdentityIndex;
     
     /**
      * Đăng ký tài khoản Customer mới
      */
     @Transactional
     public UserResponse register(RegisterRequest request) {
-        // Kiểm tra username đã tồn tại
-        if (userRepository.existsByUsername(request.getUsername())) {
+        // Kiểm tra username / email đã tồn tại (Bloom filter, chỉ query DB khi có thể trùng)
+        if (userIdentityIndex.isUsernameTaken(request.getUsername())) {
             throw new RuntimeException("Username đã tồn tại");
         }
-        
-        // Kiểm tra email đã tồn tại
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (userIdentityIndex.isEmailTaken(request.getEmail())) {
             throw new RuntimeException("Email đã được sử dụng");
         }
         
@@ -57,17 +63,49 @@ public class AuthService {
         user.setRole(UserRole.CUSTOMER); // Mặc định là CUSTOMER
         user.setStatus(UserStatus.ACTIVE); // Mặc định là ACTIVE
         
-        // Lưu vào database
-        User savedUser = userRepository.save(user);
+        // Lưu vào database - unique constraint là chốt chặn cuối khi 2 request đăng ký trùng nhau
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw UserIdentityIndex.duplicateException(ex);
+        }
+        userIdentityIndex.add(savedUser.getUsername(), savedUser.getEmail());
         
         // Convert sang UserResponse (không có password)
         return convertToUserResponse(savedUser);
     }
     
+    /**
+     * Kiểm tra username / email còn dùng được không (cho form đăng ký, kiểm tra khi đang gõ)
+     */
+    public AvailabilityResponse checkAvailability(String username, String email) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            throw new RuntimeException("Cần truyền username hoặc email");
+        }
+        AvailabilityResponse response = new AvailabilityResponse();
+        if (username != null && !username.isBlank()) {
+            response.setUsername(username);
+            response.setUsernameAvailable(!userIdentityIndex.isUsernameTaken(username));
+        }
+        if (email != null && !email.isBlank()) {
+            response.setEmail(email);
+            response.setEmailAvailable(!userIdentityIndex.isEmailTaken(email));
+        }
+        return response;
+    }
+    
     /**
      * Đăng nhập và trả về JWT token
      */
     public AuthResponse login(LoginRequest request) {
+        // Email không tồn tại → từ chối ngay, không tốn 1 lần BCrypt trên pool hash
+        // (vẫn chờ bằng thời gian verify điển hình để không lộ email nào đã đăng ký)
+        if (userIdentityIndex.isEmailUnknown(request.getUsername())) {
+            passwordEncoder.simulateMatches();
+            throw new BadCredentialsException("Username hoặc mật khẩu không đúng");
+        }
+        
         // Authenticate với Spring Security
         Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(
@@ -89,14 +127,27 @@ public class AuthService {
             throw new RuntimeException("Tài khoản đã bị khóa");
         }
         
-        // Tạo JWT token với đầy đủ claims (id, username, email, role, fullName)
+        // Tạo JWT token với đầy đủ claims (id, username, email, role, fullName) + refresh token (family mới)
         String token = jwtUtils.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user);
         
         // Convert sang UserResponse
         UserResponse userResponse = convertToUserResponse(user);
         
         // Trả về token + user info
-        return new AuthResponse(token, userResponse);
+        return new AuthResponse(token, refreshToken, jwtUtils.getExpirationMs() / 1000, userResponse);
+    }
+    
+    /**
+     * Đổi refresh token lấy access token mới (refresh token cũ hết hiệu lực, trả về refresh token mới)
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotation.user();
+        
+        // Access token mới lấy role / trạng thái / phiên bản token hiện tại từ DB
+        String token = jwtUtils.generateToken(user);
+        return new AuthResponse(token, rotation.refreshToken(), jwtUtils.getExpirationMs() / 1000, convertToUserResponse(user));
     }
     
     /**
@@ -158,7 +209,12 @@ public class AuthService {
         }
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        // Đổi mật khẩu → tăng phiên bản token, các JWT đã cấp trước đó bị thu hồi
+        user.bumpTokenVersion();
         userRepository.save(user);
+        // Đăng xuất mọi phiên: refresh token đã cấp không dùng được nữa
+        refreshTokenService.revokeAll(user.getId());
+        eventPublisher.publishEvent(UserChangedEvent.of(user.getId(), user.getEmail()));
     }
 
     /**
@@ -196,6 +252,7 @@ public class AuthService {
         }
 
         User updated = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(updated.getId(), updated.getEmail()));
         return convertToUserResponse(updated);
     }
     
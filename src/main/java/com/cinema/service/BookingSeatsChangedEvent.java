@@ -0,0 +1,12 @@
+package com.cinema.service;
+
+import lombok.Value;
+
+/**
+ * Event phát ra khi số ghế đã bán của một suất chiếu thay đổi (đặt vé: +số vé, hủy booking: -số vé)
+ */
+@Value
+public class BookingSeatsChangedEvent {
+    Long showtimeId;
+    int seatDelta;
+}
@@ -1,21 +1,29 @@
 package com.cinema.service;
 
+import com.cinema.config.DataSourcePool;
 import com.cinema.model.dto.request.BookingRequest;
+import com.cinema.exception.SeatConflictException;
 import com.cinema.model.dto.response.BookingResponse;
 import com.cinema.model.entity.*;
 import com.cinema.model.enums.BookingStatus;
 import com.cinema.model.enums.UserRole;
 import com.cinema.repository.*;
 import com.cinema.security.CustomUserDetails;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -30,6 +38,7 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
+@DataSourcePool(DataSourcePool.Pool.WRITE)
 public class BookingService {
 
     private final BookingRepository bookingRepository;
@@ -39,6 +48,40 @@ public class BookingService {
     private final SeatRepository seatRepository;
     private final RefreshmentRepository refreshmentRepository;
     private final UserRepository userRepository;
+    private final PricingEngine pricingEngine;
+    private final SoldSeatCounter soldSeatCounter;
+    private final RoomSeatMapCache roomSeatMapCache;
+    private final SeatSuggestionService seatSuggestionService;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${booking.concurrency-control:SHOWTIME_LOCK}")
+    private ConcurrencyControl concurrencyControl;
+
+    @Value("#{environment.matchesProfiles('loadtest')}")
+    private boolean loadtestProfile;
+
+    /**
+     * Cách chống bán trùng ghế khi nhiều request đặt cùng suất chiếu một lúc
+     * (kiểm tra ghế trống rồi mới insert ticket - 2 transaction chen giữa nhau sẽ cùng thấy ghế trống)
+     */
+    public enum ConcurrencyControl {
+        // Không khóa: chỉ dùng để đo / so sánh, có thể bán trùng ghế
+        NONE,
+        // Khóa dòng showtime (PESSIMISTIC_WRITE) trước khi kiểm tra ghế → đặt vé cùng suất chiếu chạy tuần tự
+        SHOWTIME_LOCK
+    }
+
+    /**
+     * NONE bán trùng ghế → chỉ cho phép khi chạy stress test (profile loadtest), không để lọt lên môi trường thật
+     */
+    @PostConstruct
+    void checkConcurrencyControl() {
+        if (concurrencyControl == ConcurrencyControl.NONE && !loadtestProfile) {
+            throw new IllegalStateException(
+                    "booking.concurrency-control=NONE có thể bán trùng ghế, chỉ dùng được với profile loadtest");
+        }
+    }
 
     private CustomUserDetails getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -59,7 +102,10 @@ public class BookingService {
         }
     }
 
-    @Transactional
+    // READ COMMITTED: sau khi lấy được khóa suất chiếu, câu kiểm tra ghế phải thấy vé người giữ khóa trước vừa commit.
+    // Ở REPEATABLE READ (mặc định của MySQL) snapshot chụp từ lần đọc đầu tiên → vẫn bán trùng ghế dù có khóa
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Timed(value = "booking.create", histogram = true)
     public BookingResponse createBooking(BookingRequest request) {
         CustomUserDetails currentUser = getCurrentUser();
         Long userId = currentUser.getUser().getId();
@@ -67,42 +113,50 @@ public class BookingService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User không tồn tại với id: " + userId));
 
-        Showtime showtime = showtimeRepository.findById(request.getShowtimeId())
+        Showtime showtime = (concurrencyControl == ConcurrencyControl.SHOWTIME_LOCK
+                ? showtimeRepository.findByIdForUpdate(request.getShowtimeId())
+                : showtimeRepository.findById(request.getShowtimeId()))
                 .orElseThrow(() -> new RuntimeException("Showtime không tồn tại với id: " + request.getShowtimeId()));
 
         if (showtime.getStartTime().isBefore(LocalDateTime.now())) {
             throw new RuntimeException("Không thể đặt vé cho suất chiếu đã qua");
         }
 
-        // Load seats
-        List<Seat> seats = seatRepository.findAllById(request.getSeatIds());
-        if (seats.size() != request.getSeatIds().size()) {
-            throw new RuntimeException("Một hoặc nhiều ghế không tồn tại");
+        // Kiểm tra ghế thuộc phòng của showtime bằng sơ đồ ghế trong bộ nhớ (không query bảng seats)
+        RoomSeatMap seatMap = roomSeatMapCache.get(showtime.getRoom().getId());
+        List<Long> seatIds = request.getSeatIds().stream().distinct().toList();
+        if (seatIds.size() != request.getSeatIds().size()) {
+            throw new RuntimeException("Danh sách ghế bị trùng");
         }
-
-        // Kiểm tra ghế có thuộc cùng phòng với showtime không
-        Long showtimeRoomId = showtime.getRoom().getId();
-        boolean invalidSeatRoom = seats.stream()
-                .anyMatch(seat -> !seat.getRoom().getId().equals(showtimeRoomId));
-        if (invalidSeatRoom) {
-            throw new RuntimeException("Ghế không thuộc phòng chiếu của suất chiếu này");
+        List<RoomSeatMap.SeatSlot> slots = new ArrayList<>(seatIds.size());
+        for (Long seatId : seatIds) {
+            RoomSeatMap.SeatSlot slot = seatMap.slot(seatId);
+            if (slot == null) {
+                throw new RuntimeException("Ghế không tồn tại hoặc không thuộc phòng chiếu của suất chiếu này: " + seatId);
+            }
+            slots.add(slot);
         }
 
         // Kiểm tra ghế đã được đặt chưa
-        List<Long> seatIds = seats.stream().map(Seat::getId).toList();
-        List<Ticket> existingTickets = ticketRepository.findBySeatIdInAndBooking_Showtime_IdAndBooking_StatusNot(
-                seatIds, showtime.getId(), BookingStatus.CANCELLED);
-        if (!existingTickets.isEmpty()) {
-            String occupied = existingTickets.stream()
-                    .map(t -> t.getSeat().getSeatNumber())
+        List<Long> occupiedSeatIds = ticketRepository.findOccupiedSeatIds(showtime.getId(), seatIds, BookingStatus.CANCELLED);
+        if (!occupiedSeatIds.isEmpty()) {
+            String occupied = occupiedSeatIds.stream()
                     .distinct()
+                    .map(seatId -> seatMap.slot(seatId).label())
                     .collect(Collectors.joining(", "));
-            throw new RuntimeException("Các ghế đã được đặt: " + occupied);
+            meterRegistry.counter("booking.seat.conflicts").increment();
+            throw new SeatConflictException("Các ghế đã được đặt: " + occupied,
+                    seatSuggestionService.suggestAlternatives(showtime, seatMap, seatIds.size()));
         }
 
-        // Tính tổng tiền vé
-        BigDecimal ticketPrice = showtime.getPrice();
-        BigDecimal totalTicketPrice = ticketPrice.multiply(BigDecimal.valueOf(seats.size()));
+        // Tính giá từng ghế theo loại ghế + mức lấp đầy hiện tại của suất chiếu (số ghế đã bán đếm trong bộ nhớ)
+        int soldSeats = soldSeatCounter.get(showtime.getId());
+        PricingEngine.Quote quote = pricingEngine.quote(showtime.getId(), showtime.getPrice(), soldSeats, seatMap.seatCount());
+
+        BigDecimal totalTicketPrice = BigDecimal.ZERO;
+        for (RoomSeatMap.SeatSlot slot : slots) {
+            totalTicketPrice = totalTicketPrice.add(quote.priceFor(slot.type()));
+        }
 
         // Xử lý refreshments (nếu có)
         List<BookingRequest.RefreshmentOrder> refreshmentOrders =
@@ -155,14 +209,15 @@ public class BookingService {
 
         // Tạo tickets
         List<Ticket> tickets = new ArrayList<>();
-        for (Seat seat : seats) {
+        for (RoomSeatMap.SeatSlot slot : slots) {
             Ticket ticket = new Ticket();
             ticket.setBooking(savedBooking);
-            ticket.setSeat(seat);
-            ticket.setPrice(ticketPrice);
+            ticket.setSeat(seatRepository.getReferenceById(slot.seatId())); // Chỉ cần FK, không load ghế
+            ticket.setPrice(quote.priceFor(slot.type()));
             tickets.add(ticket);
         }
         ticketRepository.saveAll(tickets);
+        eventPublisher.publishEvent(new BookingSeatsChangedEvent(showtime.getId(), tickets.size()));
 
         // Gắn booking vào bookingRefreshments và lưu
         for (BookingRefreshment br : bookingRefreshments) {
@@ -216,6 +271,7 @@ public class BookingService {
     }
 
     @Transactional
+    @Timed(value = "booking.confirm", histogram = true)
     public BookingResponse confirmBooking(Long id) {
         checkAdminRole();
         Booking booking = bookingRepository.findById(id)
@@ -235,6 +291,7 @@ public class BookingService {
     }
 
     @Transactional
+    @Timed(value = "booking.cancel", histogram = true)
     public BookingResponse cancelBooking(Long id) {
         CustomUserDetails currentUser = getCurrentUser();
         Booking booking = bookingRepository.findById(id)
@@ -259,6 +316,7 @@ public class BookingService {
 
         booking.setStatus(BookingStatus.CANCELLED);
         Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingSeatsChangedEvent(booking.getShowtime().getId(), -booking.getTickets().size()));
         return convertToResponse(saved);
     }
 
@@ -269,17 +327,9 @@ public class BookingService {
         List<Ticket> tickets = ticketRepository
                 .findByBooking_Showtime_IdAndBooking_StatusNot(showtime.getId(), BookingStatus.CANCELLED);
 
+        RoomSeatMap seatMap = roomSeatMapCache.get(showtime.getRoom().getId());
         return tickets.stream()
-                .map(ticket -> {
-                    BookingResponse.TicketSummary dto = new BookingResponse.TicketSummary();
-                    dto.setId(ticket.getId());
-                    dto.setSeatId(ticket.getSeat().getId());
-                    dto.setSeatNumber(ticket.getSeat().getSeatNumber());
-                    dto.setRow(ticket.getSeat().getRow());
-                    dto.setCol(ticket.getSeat().getCol());
-                    dto.setPrice(ticket.getPrice());
-                    return dto;
-                })
+                .map(ticket -> convertTicketToSummary(ticket, seatMap))
                 .toList();
     }
 
@@ -327,21 +377,13 @@ public class BookingService {
             res.setShowtime(s);
         }
 
-        // Tickets
+        // Tickets (thông tin ghế lấy từ sơ đồ ghế trong bộ nhớ)
         if (booking.getTickets() != null) {
+            RoomSeatMap seatMap = booking.getShowtime() != null && booking.getShowtime().getRoom() != null
+                    ? roomSeatMapCache.get(booking.getShowtime().getRoom().getId())
+                    : null;
             List<BookingResponse.TicketSummary> ticketDtos = booking.getTickets().stream()
-                    .map(ticket -> {
-                        BookingResponse.TicketSummary dto = new BookingResponse.TicketSummary();
-                        dto.setId(ticket.getId());
-                        if (ticket.getSeat() != null) {
-                            dto.setSeatId(ticket.getSeat().getId());
-                            dto.setSeatNumber(ticket.getSeat().getSeatNumber());
-                            dto.setRow(ticket.getSeat().getRow());
-                            dto.setCol(ticket.getSeat().getCol());
-                        }
-                        dto.setPrice(ticket.getPrice());
-                        return dto;
-                    })
+                    .map(ticket -> convertTicketToSummary(ticket, seatMap))
                     .toList();
             res.setTickets(ticketDtos);
         }
@@ -371,6 +413,27 @@ public class BookingService {
         return res;
     }
 
+    private BookingResponse.TicketSummary convertTicketToSummary(Ticket ticket, RoomSeatMap seatMap) {
+        BookingResponse.TicketSummary dto = new BookingResponse.TicketSummary();
+        dto.setId(ticket.getId());
+        if (ticket.getSeat() != null) {
+            Long seatId = ticket.getSeat().getId();
+            RoomSeatMap.SeatSlot slot = seatMap != null ? seatMap.slot(seatId) : null;
+            dto.setSeatId(seatId);
+            if (slot != null) {
+                dto.setSeatNumber(slot.label());
+                dto.setRow(slot.row());
+                dto.setCol(slot.col());
+            } else {
+                dto.setSeatNumber(ticket.getSeat().getSeatNumber());
+                dto.setRow(ticket.getSeat().getRow());
+                dto.setCol(ticket.getSeat().getCol());
+            }
+        }
+        dto.setPrice(ticket.getPrice());
+        return dto;
+    }
+
     private String generateBookingCode() {
         // BK + 10 ký tự từ UUID
         String random = UUID.randomUUID().toString().replace("-", "").substring(0, 10).toUpperCase();
@@ -0,0 +1,206 @@
+package com.cinema.service;
+
+import com.cinema.config.DataSourcePool;
+import com.cinema.model.dto.request.BulkRefreshmentStatusRequest;
+import com.cinema.model.dto.request.BulkSeatTypeRequest;
+import com.cinema.model.dto.request.BulkShowtimePriceRequest;
+import com.cinema.model.dto.response.BulkUpdateResponse;
+import com.cinema.model.entity.Room;
+import com.cinema.model.enums.UserRole;
+import com.cinema.repository.RefreshmentRepository;
+import com.cinema.repository.RoomRepository;
+import com.cinema.repository.SeatRepository;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.security.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service cập nhật hàng loạt cho Admin (giá suất chiếu, loại ghế theo hàng, trạng thái bán đồ ăn/uống).
+ *
+ * - Mỗi thao tác là 1 câu UPDATE theo bộ lọc cho mỗi bảng, không findById + save từng dòng
+ * - Chỉ cập nhật dòng chưa đúng giá trị mới → idempotent, chạy lại trả affected = 0
+ * - Khoảng lớn được chia chunk (theo số ngày / số id), mỗi chunk 1 transaction ngắn,
+ *   cache liên quan được evict ngay sau khi chunk commit
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@DataSourcePool(DataSourcePool.Pool.ADMIN)
+public class BulkAdminService {
+
+    private final ShowtimeRepository showtimeRepository;
+    private final SeatRepository seatRepository;
+    private final RoomRepository roomRepository;
+    private final RefreshmentRepository refreshmentRepository;
+    private final ScheduleSnapshotService scheduleSnapshotService;
+    private final PricingEngine pricingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bulk.chunk-days:7}")
+    private int chunkDays;
+
+    @Value("${bulk.chunk-size:500}")
+    private int chunkSize;
+
+    private void checkAdminRole() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new AccessDeniedException("Chưa đăng nhập");
+        }
+
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        if (userDetails.getUser().getRole() != UserRole.ADMIN) {
+            throw new AccessDeniedException("Chỉ Admin mới có quyền thực hiện thao tác này");
+        }
+    }
+
+    /**
+     * Đổi giá tất cả suất chiếu khớp bộ lọc trong [fromDate, toDate]
+     */
+    public BulkUpdateResponse updateShowtimePrices(BulkShowtimePriceRequest request) {
+        checkAdminRole();
+        if (request.getToDate().isBefore(request.getFromDate())) {
+            throw new RuntimeException("Ngày kết thúc phải sau hoặc bằng ngày bắt đầu");
+        }
+
+        int affected = 0;
+        int chunks = 0;
+        LocalDate chunkStart = request.getFromDate();
+        while (!chunkStart.isAfter(request.getToDate())) {
+            LocalDate chunkEnd = chunkStart.plusDays(chunkDays - 1L);
+            if (chunkEnd.isAfter(request.getToDate())) {
+                chunkEnd = request.getToDate();
+            }
+            LocalDateTime from = chunkStart.atStartOfDay();
+            LocalDateTime to = chunkEnd.plusDays(1).atStartOfDay();
+            Integer updated = transactionTemplate.execute(status -> showtimeRepository.updatePriceInRange(
+                    from, to, request.getCinemaId(), request.getRoomId(), request.getMovieId(),
+                    request.getPrice(), LocalDateTime.now()));
+            affected += updated != null ? updated : 0;
+            chunks++;
+
+            // Chunk đã commit → bỏ snapshot lịch chiếu + bảng giá đã cache
+            if (updated != null && updated > 0) {
+                scheduleSnapshotService.evict(chunkStart, chunkEnd);
+                pricingEngine.evictAll();
+            }
+            chunkStart = chunkEnd.plusDays(1);
+        }
+
+        log.info("Bulk đổi giá suất chiếu {} → {}: {} suất chiếu, {} chunk", request.getFromDate(), request.getToDate(), affected, chunks);
+        return new BulkUpdateResponse("SHOWTIME_PRICE", affected, chunks);
+    }
+
+    /**
+     * Đổi loại ghế cho các hàng [fromRow, toRow] của 1 phòng hoặc mọi phòng trong rạp
+     */
+    public BulkUpdateResponse updateSeatTypes(BulkSeatTypeRequest request) {
+        checkAdminRole();
+        int fromRow = SeatLayout.rowIndex(request.getFromRow().trim());
+        int toRow = SeatLayout.rowIndex(request.getToRow().trim());
+        if (fromRow < 0 || toRow < 0 || fromRow > toRow) {
+            throw new RuntimeException("Khoảng hàng ghế không hợp lệ: " + request.getFromRow() + " - " + request.getToRow());
+        }
+
+        List<Long> roomIds;
+        if (request.getRoomId() != null) {
+            Room room = roomRepository.findById(request.getRoomId())
+                    .orElseThrow(() -> new RuntimeException("Room không tồn tại với id: " + request.getRoomId()));
+            if (request.getCinemaId() != null && !room.getCinema().getId().equals(request.getCinemaId())) {
+                throw new RuntimeException("Phòng không thuộc rạp đã chọn");
+            }
+            roomIds = List.of(room.getId());
+        } else if (request.getCinemaId() != null) {
+            roomIds = roomRepository.findByCinemaId(request.getCinemaId()).stream().map(Room::getId).toList();
+        } else {
+            throw new RuntimeException("Cần chọn cinemaId hoặc roomId");
+        }
+
+        List<String> rows = new ArrayList<>(toRow - fromRow + 1);
+        for (int r = fromRow; r <= toRow; r++) {
+            rows.add(SeatLayout.rowLabel(r));
+        }
+
+        int affected = 0;
+        int chunks = 0;
+        for (List<Long> chunk : partition(roomIds)) {
+            Integer updated = transactionTemplate.execute(status -> {
+                // Sơ đồ ghế nén của phòng là nguồn chính → cập nhật cùng transaction với bảng seats
+                List<Room> rooms = roomRepository.findAllById(chunk);
+                for (Room room : rooms) {
+                    SeatLayout layout = room.getSeatLayout() != null
+                            ? SeatLayout.parse(room.getSeatLayout())
+                            : SeatLayout.fromSeats(seatRepository.findByRoomId(room.getId()));
+                    if (fromRow >= layout.rowCount()) {
+                        continue;
+                    }
+                    String encoded = layout.withRowType(fromRow, Math.min(toRow, layout.rowCount() - 1), request.getType()).encode();
+                    if (!encoded.equals(room.getSeatLayout())) {
+                        room.setSeatLayout(encoded);
+                        room.setLayoutVersion((room.getLayoutVersion() != null ? room.getLayoutVersion() : 0) + 1);
+                        eventPublisher.publishEvent(RoomChangedEvent.saved(room.getId()));
+                    }
+                }
+                return seatRepository.updateTypeByRoomIdsAndRows(chunk, rows, request.getType(), LocalDateTime.now());
+            });
+            affected += updated != null ? updated : 0;
+            chunks++;
+        }
+
+        log.info("Bulk đổi loại ghế hàng {}-{} thành {}: {} ghế trong {} phòng", request.getFromRow(), request.getToRow(),
+                request.getType(), affected, roomIds.size());
+        return new BulkUpdateResponse("SEAT_TYPE", affected, chunks);
+    }
+
+    /**
+     * Bật/tắt bán hàng loạt đồ ăn/đồ uống theo danh sách id hoặc theo tên
+     */
+    public BulkUpdateResponse updateRefreshmentStatus(BulkRefreshmentStatusRequest request) {
+        checkAdminRole();
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byName = request.getNameContains() != null && !request.getNameContains().isBlank();
+        if (byIds == byName) {
+            throw new RuntimeException("Cần chọn 1 trong 2 bộ lọc: ids hoặc nameContains");
+        }
+
+        int affected = 0;
+        int chunks = 0;
+        if (byName) {
+            Integer updated = transactionTemplate.execute(status -> refreshmentRepository.updateIsCurrentByNameContaining(
+                    request.getNameContains().trim(), request.getIsCurrent(), LocalDateTime.now()));
+            affected = updated != null ? updated : 0;
+            chunks = 1;
+        } else {
+            for (List<Long> chunk : partition(request.getIds().stream().distinct().toList())) {
+                Integer updated = transactionTemplate.execute(status -> refreshmentRepository.updateIsCurrentByIds(
+                        chunk, request.getIsCurrent(), LocalDateTime.now()));
+                affected += updated != null ? updated : 0;
+                chunks++;
+            }
+        }
+
+        log.info("Bulk đổi trạng thái bán đồ ăn/uống thành {}: {} sản phẩm", request.getIsCurrent(), affected);
+        return new BulkUpdateResponse("REFRESHMENT_STATUS", affected, chunks);
+    }
+
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            chunks.add(ids.subList(i, Math.min(i + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+}
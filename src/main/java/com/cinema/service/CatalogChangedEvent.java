@@ -0,0 +1,22 @@
+package com.cinema.service;
+
+import lombok.Value;
+
+/**
+ * Event phát ra khi phim / rạp được cập nhật hoặc xóa (tên hiển thị trong lịch chiếu có thể đã đổi,
+ * suất chiếu của phim bị xóa theo cascade).
+ * Dùng để bỏ snapshot lịch chiếu của các ngày có liên quan sau khi transaction commit.
+ */
+@Value
+public class CatalogChangedEvent {
+    Long movieId;  // null nếu thay đổi không phải của phim
+    Long cinemaId; // null nếu thay đổi không phải của rạp
+
+    public static CatalogChangedEvent movie(Long movieId) {
+        return new CatalogChangedEvent(movieId, null);
+    }
+
+    public static CatalogChangedEvent cinema(Long cinemaId) {
+        return new CatalogChangedEvent(null, cinemaId);
+    }
+}
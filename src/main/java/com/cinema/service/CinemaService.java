@@ -1,5 +1,6 @@
 package com.cinema.service;
 
+import com.cinema.config.DataSourcePool;
 import com.cinema.model.dto.request.CinemaRequest;
 import com.cinema.model.dto.response.CinemaResponse;
 import com.cinema.model.entity.Cinema;
@@ -7,6 +8,7 @@ import com.cinema.model.enums.UserRole;
 import com.cinema.repository.CinemaRepository;
 import com.cinema.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -19,9 +21,11 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Service
 @RequiredArgsConstructor
+@DataSourcePool(DataSourcePool.Pool.CATALOG)
 public class CinemaService {
     
     private final CinemaRepository cinemaRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Kiểm tra user hiện tại có phải Admin không
@@ -41,6 +45,7 @@ public class CinemaService {
     /**
      * Lấy tất cả cinemas (có phân trang)
      */
+    @Transactional(readOnly = true)
     public Page<CinemaResponse> getAllCinemas(Pageable pageable) {
         return cinemaRepository.findAll(pageable)
                 .map(this::convertToResponse);
@@ -49,6 +54,7 @@ public class CinemaService {
     /**
      * Lấy cinema theo ID
      */
+    @Transactional(readOnly = true)
     public CinemaResponse getCinemaById(Long id) {
         Cinema cinema = cinemaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cinema không tồn tại với id: " + id));
@@ -59,6 +65,7 @@ public class CinemaService {
      * Tạo cinema mới (chỉ Admin)
      */
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public CinemaResponse createCinema(CinemaRequest request) {
         checkAdminRole();
         
@@ -77,12 +84,15 @@ public class CinemaService {
      * Cập nhật cinema (chỉ Admin)
      */
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public CinemaResponse updateCinema(Long id, CinemaRequest request) {
         checkAdminRole();
         
         Cinema cinema = cinemaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cinema không tồn tại với id: " + id));
         
+        boolean nameChanged = !request.getName().equals(cinema.getName());
+
         // Cập nhật thông tin
         cinema.setName(request.getName());
         cinema.setAddress(request.getAddress());
@@ -94,6 +104,10 @@ public class CinemaService {
         }
         
         Cinema updatedCinema = cinemaRepository.save(cinema);
+        if (nameChanged) {
+            // Tên rạp nằm trong snapshot lịch chiếu
+            eventPublisher.publishEvent(CatalogChangedEvent.cinema(id));
+        }
         return convertToResponse(updatedCinema);
     }
     
@@ -101,6 +115,7 @@ public class CinemaService {
      * Xóa cinema (chỉ Admin)
      */
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public void deleteCinema(Long id) {
         checkAdminRole();
         
@@ -115,6 +130,7 @@ public class CinemaService {
         }
         
         cinemaRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.cinema(id));
     }
     
     /**
@@ -1,5 +1,6 @@
 package com.cinema.service;
 
+import com.cinema.config.DataSourcePool;
 import com.cinema.model.dto.request.MovieRequest;
 import com.cinema.model.dto.response.MovieActorResponse;
 import com.cinema.model.dto.response.MovieResponse;
@@ -14,6 +15,7 @@ import com.cinema.repository.MovieRepository;
 import com.cinema.repository.ReviewRepository;
 import com.cinema.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,11 +32,13 @@ import java.util.List;
  */
 @Service
 @RequiredArgsConstructor
+@DataSourcePool(DataSourcePool.Pool.CATALOG)
 public class MovieService {
     
     private final MovieRepository movieRepository;
     private final MovieActorRepository movieActorRepository;
     private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Kiểm tra user hiện tại có phải Admin không
@@ -54,6 +58,7 @@ public class MovieService {
     /**
      * Lấy tất cả movies (có phân trang)
      */
+    @Transactional(readOnly = true)
     public Page<MovieResponse> getAllMovies(Pageable pageable) {
         return movieRepository.findAll(pageable)
                 .map(this::convertToResponse);
@@ -62,6 +67,7 @@ public class MovieService {
     /**
      * Lấy movie theo ID
      */
+    @Transactional(readOnly = true)
     public MovieResponse getMovieById(Long id) {
         Movie movie = movieRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Movie không tồn tại với id: " + id));
@@ -103,6 +109,7 @@ public class MovieService {
     /**
      * Tìm kiếm movies theo name, genre, year, rating, status
      */
+    @Transactional(readOnly = true)
     public Page<MovieResponse> searchMovies(String keyword, String genre, Integer year, String rating, MovieStatus status, Pageable pageable) {
         // Lấy tất cả movies để filter
         List<Movie> allMovies = movieRepository.findAll();
@@ -212,6 +219,7 @@ public class MovieService {
      * Tạo movie mới (chỉ Admin)
      */
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public MovieResponse createMovie(MovieRequest request) {
         checkAdminRole();
         
@@ -243,6 +251,7 @@ public class MovieService {
      * Cập nhật movie (chỉ Admin)
      */
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public MovieResponse updateMovie(Long id, MovieRequest request) {
         checkAdminRole();
         
@@ -254,6 +263,8 @@ public class MovieService {
             throw new RuntimeException("Ngày khởi chiếu phải trước ngày kết thúc");
         }
         
+        boolean titleChanged = !request.getTitle().equals(movie.getTitle());
+
         // Cập nhật thông tin
         movie.setTitle(request.getTitle());
         movie.setDescription(request.getDescription());
@@ -277,6 +288,10 @@ public class MovieService {
         }
         
         Movie updatedMovie = movieRepository.save(movie);
+        if (titleChanged) {
+            // Tên phim nằm trong snapshot lịch chiếu
+            eventPublisher.publishEvent(CatalogChangedEvent.movie(id));
+        }
         return convertToResponse(updatedMovie);
     }
     
@@ -284,6 +299,7 @@ public class MovieService {
      * Xóa movie (chỉ Admin)
      */
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public void deleteMovie(Long id) {
         checkAdminRole();
         
@@ -292,6 +308,8 @@ public class MovieService {
         }
         
         movieRepository.deleteById(id);
+        // Suất chiếu của phim bị xóa theo cascade → bỏ khỏi lịch chiếu
+        eventPublisher.publishEvent(CatalogChangedEvent.movie(id));
     }
     
     /**
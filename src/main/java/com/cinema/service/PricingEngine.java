@@ -0,0 +1,173 @@
+package com.cinema.service;
+
+import com.cinema.model.enums.SeatType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * PricingEngine - tính giá vé theo loại ghế và mức lấp đầy của suất chiếu.
+ *
+ * Giá ghế = giá gốc showtime × hệ số loại ghế × hệ số tier lấp đầy.
+ *
+ * Các bảng luật được "biên dịch" một lần lúc khởi động thành mảng:
+ * - hệ số loại ghế theo SeatType.ordinal()
+ * - tier theo phần trăm lấp đầy (0..100)
+ * nên mỗi lần tính giá là O(1), không query DB.
+ *
+ * Bảng giá (Quote) được cache theo showtime cho tier hiện tại; khi lấp đầy vượt sang tier khác
+ * (hoặc giá gốc đổi) thì quote cũ bị thay thế. Cache giới hạn số suất chiếu và bỏ quote lâu không dùng
+ * (suất chiếu đã qua không còn ai đặt → tự rời cache).
+ *
+ * Cấu hình (application.properties):
+ *   pricing.seat-type-multipliers=NORMAL:1.0,VIP:1.3
+ *   pricing.occupancy-tiers=0:1.0,50:1.1,80:1.2   (phần trăm từ mức : hệ số)
+ *   pricing.quote-cache.max-size=10000
+ *   pricing.quote-cache.expire-after-access=1h
+ */
+@Slf4j
+@Component
+public class PricingEngine {
+
+    private final BigDecimal[] seatTypeMultipliers;
+    private final byte[] tierByPercent = new byte[101];
+    private final BigDecimal[] tierMultipliers;
+
+    private final Cache<Long, Quote> quotes;
+
+    /**
+     * Bảng giá của một suất chiếu ở một tier (immutable): giá theo SeatType.ordinal()
+     */
+    public record Quote(int tier, BigDecimal basePrice, List<BigDecimal> seatPrices) {
+        public Quote {
+            seatPrices = List.copyOf(seatPrices);
+        }
+
+        public BigDecimal priceFor(SeatType type) {
+            return seatPrices.get(type.ordinal());
+        }
+    }
+
+    public PricingEngine(
+            @Value("${pricing.seat-type-multipliers:NORMAL:1.0,VIP:1.0}") String seatTypeRules,
+            @Value("${pricing.occupancy-tiers:0:1.0}") String occupancyRules,
+            @Value("${pricing.quote-cache.max-size:10000}") long quoteCacheSize,
+            @Value("${pricing.quote-cache.expire-after-access:1h}") Duration quoteCacheExpiry) {
+        this.seatTypeMultipliers = compileSeatTypeRules(seatTypeRules);
+        this.tierMultipliers = compileOccupancyRules(occupancyRules);
+        this.quotes = Caffeine.newBuilder()
+                .maximumSize(quoteCacheSize)
+                .expireAfterAccess(quoteCacheExpiry)
+                .build();
+        log.info("Pricing rules: seat types {}, occupancy tiers {}", seatTypeRules, occupancyRules);
+    }
+
+    /**
+     * Tier lấp đầy hiện tại (O(1) tra bảng)
+     */
+    public int tierOf(int soldSeats, int totalSeats) {
+        if (totalSeats <= 0) {
+            return tierByPercent[0];
+        }
+        int percent = (int) Math.min(100L, Math.max(0L, soldSeats * 100L / totalSeats));
+        return tierByPercent[percent];
+    }
+
+    /**
+     * Lấy bảng giá cho suất chiếu ở tier hiện tại, dùng lại quote đã cache nếu tier + giá gốc không đổi
+     */
+    public Quote quote(Long showtimeId, BigDecimal basePrice, int soldSeats, int totalSeats) {
+        int tier = tierOf(soldSeats, totalSeats);
+        Quote cached = quotes.getIfPresent(showtimeId);
+        if (cached != null && cached.tier() == tier && cached.basePrice().compareTo(basePrice) == 0) {
+            return cached;
+        }
+        Quote fresh = compute(tier, basePrice);
+        quotes.put(showtimeId, fresh);
+        return fresh;
+    }
+
+    public void evict(Long showtimeId) {
+        quotes.invalidate(showtimeId);
+    }
+
+    public void evictAll() {
+        quotes.invalidateAll();
+    }
+
+    /**
+     * Suất chiếu bị sửa / xóa → bỏ quote đã cache
+     */
+    @TransactionalEventListener
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        evict(event.getShowtimeId());
+    }
+
+    private Quote compute(int tier, BigDecimal basePrice) {
+        BigDecimal tierMultiplier = tierMultipliers[tier];
+        BigDecimal[] prices = new BigDecimal[seatTypeMultipliers.length];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = basePrice.multiply(seatTypeMultipliers[i])
+                    .multiply(tierMultiplier)
+                    .setScale(2, RoundingMode.HALF_UP);
+        }
+        return new Quote(tier, basePrice, Arrays.asList(prices));
+    }
+
+    private static BigDecimal[] compileSeatTypeRules(String rules) {
+        BigDecimal[] multipliers = new BigDecimal[SeatType.values().length];
+        Arrays.fill(multipliers, BigDecimal.ONE);
+        for (String rule : rules.split(",")) {
+            if (rule.isBlank()) {
+                continue;
+            }
+            String[] parts = rule.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Luật giá loại ghế không hợp lệ: " + rule);
+            }
+            SeatType type = SeatType.valueOf(parts[0].trim());
+            multipliers[type.ordinal()] = new BigDecimal(parts[1].trim());
+        }
+        return multipliers;
+    }
+
+    private BigDecimal[] compileOccupancyRules(String rules) {
+        TreeMap<Integer, BigDecimal> thresholds = new TreeMap<>();
+        thresholds.put(0, BigDecimal.ONE);
+        for (String rule : rules.split(",")) {
+            if (rule.isBlank()) {
+                continue;
+            }
+            String[] parts = rule.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Luật giá theo lấp đầy không hợp lệ: " + rule);
+            }
+            int fromPercent = Integer.parseInt(parts[0].trim());
+            if (fromPercent < 0 || fromPercent > 100) {
+                throw new IllegalArgumentException("Phần trăm lấp đầy phải trong [0, 100]: " + rule);
+            }
+            thresholds.put(fromPercent, new BigDecimal(parts[1].trim()));
+        }
+
+        BigDecimal[] multipliers = thresholds.values().toArray(new BigDecimal[0]);
+        Integer[] starts = thresholds.keySet().toArray(new Integer[0]);
+        int tier = 0;
+        for (int percent = 0; percent <= 100; percent++) {
+            while (tier + 1 < starts.length && percent >= starts[tier + 1]) {
+                tier++;
+            }
+            tierByPercent[percent] = (byte) tier;
+        }
+        return multipliers;
+    }
+}
@@ -0,0 +1,168 @@
+package com.cinema.service;
+
+import com.cinema.config.DataSourcePool;
+import com.cinema.model.entity.RefreshToken;
+import com.cinema.model.entity.User;
+import com.cinema.model.enums.UserStatus;
+import com.cinema.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service quản lý refresh token (xoay vòng, dùng 1 lần).
+ *
+ * - Token gốc là 32 byte ngẫu nhiên (base64url), DB chỉ lưu SHA-256 → tra cứu qua unique index token_hash
+ * - Mỗi lần refresh: token hiện tại bị đánh dấu đã dùng (UPDATE có điều kiện, chỉ 1 request thắng)
+ *   và token mới được cấp trong cùng family
+ * - Token đã dùng / đã thu hồi bị đem dùng lại → coi như bị lộ, thu hồi cả family (phiên đăng nhập đó)
+ * - Token hết hạn được xóa định kỳ theo batch, mỗi batch 1 transaction ngắn
+ *
+ * Cấu hình:
+ *   jwt.refresh-expiration=1209600000       (ms, mặc định 14 ngày)
+ *   jwt.refresh-purge.cron=0 30 3 * * *
+ *   jwt.refresh-purge.batch-size=1000
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMs;
+
+    @Value("${jwt.refresh-purge.batch-size:1000}")
+    private int purgeBatchSize;
+
+    /**
+     * Kết quả 1 lần refresh: user (đã nạp sẵn) + refresh token mới
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    /**
+     * Cấp refresh token mới (family mới) khi đăng nhập
+     */
+    public String issue(User user) {
+        return transactionTemplate.execute(status -> create(user, UUID.randomUUID().toString()));
+    }
+
+    /**
+     * Đổi refresh token cũ lấy token mới (token cũ không dùng lại được nữa)
+     */
+    public Rotation rotate(String rawToken) {
+        String tokenHash = hash(rawToken);
+        Rotation rotation = transactionTemplate.execute(status -> {
+            RefreshToken current = refreshTokenRepository.findByTokenHash(tokenHash)
+                    .orElseThrow(() -> new RuntimeException("Refresh token không hợp lệ"));
+
+            // Đã dùng hoặc đã thu hồi → token bị dùng lại, thu hồi cả family (commit rồi mới báo lỗi)
+            if (current.getRevoked() || current.getUsedAt() != null
+                    || refreshTokenRepository.markUsed(current.getId(), LocalDateTime.now()) == 0) {
+                int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId());
+                log.warn("Refresh token reuse detected for user {} (family {}), revoked {} token(s)",
+                        current.getUser().getId(), current.getFamilyId(), revoked);
+                return null;
+            }
+            if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+                throw new RuntimeException("Refresh token đã hết hạn, vui lòng đăng nhập lại");
+            }
+
+            User user = current.getUser();
+            if (user.getStatus() != UserStatus.ACTIVE) {
+                refreshTokenRepository.revokeFamily(current.getFamilyId());
+                return new Rotation(user, null);
+            }
+            return new Rotation(user, create(user, current.getFamilyId()));
+        });
+
+        if (rotation == null) {
+            throw new RuntimeException("Refresh token đã được sử dụng, vui lòng đăng nhập lại");
+        }
+        if (rotation.refreshToken() == null) {
+            throw new RuntimeException("Tài khoản đã bị khóa");
+        }
+        return rotation;
+    }
+
+    /**
+     * Thu hồi mọi refresh token của user (đổi mật khẩu) - chạy trong transaction của nơi gọi
+     */
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId);
+    }
+
+    /**
+     * Xóa mọi refresh token của user (trước khi xóa user) - chạy trong transaction của nơi gọi
+     */
+    public void deleteAll(Long userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    /**
+     * Xóa refresh token đã hết hạn theo batch (token hết hạn không refresh được nên không cần giữ để phát hiện dùng lại)
+     */
+    @Scheduled(cron = "${jwt.refresh-purge.cron:0 30 3 * * *}")
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, purgeBatchSize));
+                return ids.isEmpty() ? 0 : refreshTokenRepository.deleteByIdIn(ids);
+            });
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired refresh token(s)", purged);
+        }
+        return purged;
+    }
+
+    private String create(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs)));
+        token.setRevoked(false);
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 không khả dụng", e);
+        }
+    }
+}
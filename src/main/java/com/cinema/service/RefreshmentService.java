@@ -1,5 +1,6 @@
 package com.cinema.service;
 
+import com.cinema.config.DataSourcePool;
 import com.cinema.model.dto.request.RefreshmentRequest;
 import com.cinema.model.dto.response.RefreshmentResponse;
 import com.cinema.model.entity.Refreshment;
@@ -20,6 +21,7 @@ import java.util.List;
  */
 @Service
 @RequiredArgsConstructor
+@DataSourcePool(DataSourcePool.Pool.CATALOG)
 public class RefreshmentService {
 
     private final RefreshmentRepository refreshmentRepository;
@@ -47,6 +49,7 @@ public class RefreshmentService {
      * GET /api/refreshments
      * Lấy danh sách đồ ăn/đồ uống đang bán
      */
+    @Transactional(readOnly = true)
     public List<RefreshmentResponse> getCurrentRefreshments() {
         return refreshmentRepository.findByIsCurrentTrue().stream()
                 .map(this::convertToResponse)
@@ -58,6 +61,7 @@ public class RefreshmentService {
      * Tạo refreshment mới (Admin only)
      */
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public RefreshmentResponse createRefreshment(RefreshmentRequest request) {
         checkAdminRole();
 
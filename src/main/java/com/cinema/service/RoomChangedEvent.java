@@ -0,0 +1,21 @@
+package com.cinema.service;
+
+import lombok.Value;
+
+/**
+ * Event phát ra khi phòng được tạo / cập nhật / xóa (sơ đồ ghế có thể đã thay đổi).
+ * Dùng để thay sơ đồ ghế trong bộ nhớ sau khi transaction commit.
+ */
+@Value
+public class RoomChangedEvent {
+    Long roomId;
+    boolean deleted;
+
+    public static RoomChangedEvent saved(Long roomId) {
+        return new RoomChangedEvent(roomId, false);
+    }
+
+    public static RoomChangedEvent deleted(Long roomId) {
+        return new RoomChangedEvent(roomId, true);
+    }
+}
@@ -0,0 +1,133 @@
+package com.cinema.service;
+
+import com.cinema.model.enums.SeatType;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RoomSeatMap - sơ đồ ghế của một phòng ở một version (immutable, dùng chung giữa các request).
+ *
+ * Ánh xạ 2 chiều seat id ↔ vị trí trong sơ đồ ↔ nhãn ghế ↔ loại ghế, để kiểm tra / định giá ghế
+ * khi đặt vé mà không phải query bảng seats.
+ */
+public final class RoomSeatMap {
+
+    /**
+     * Một ghế: id trong DB + vị trí trong sơ đồ (index = thứ tự trong SeatLayout.positions())
+     */
+    public record SeatSlot(Long seatId, int index, SeatLayout.Position position) {
+        public String label() {
+            return position.label();
+        }
+
+        public String row() {
+            return position.row();
+        }
+
+        public int col() {
+            return position.col();
+        }
+
+        public SeatType type() {
+            return position.type();
+        }
+    }
+
+    private final Long roomId;
+    private final int version;
+    private final SeatLayout layout;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final List<SeatSlot> slots;
+    private final Map<Long, SeatSlot> byId;
+    private final Map<String, SeatSlot> byLabel;
+    private final int[] rowStarts; // rowStarts[r]..rowStarts[r + 1] - 1 là các slot của hàng r
+
+    /**
+     * @param seatIds nhãn ghế → id ghế trong DB (ghế không có trong map sẽ có seatId = null)
+     */
+    public RoomSeatMap(Long roomId, int version, SeatLayout layout, Map<String, Long> seatIds,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.roomId = roomId;
+        this.version = version;
+        this.layout = layout;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+
+        List<SeatLayout.Position> positions = layout.positions();
+        SeatSlot[] all = new SeatSlot[positions.size()];
+        Map<Long, SeatSlot> ids = new HashMap<>(positions.size() * 2);
+        Map<String, SeatSlot> labels = new HashMap<>(positions.size() * 2);
+        for (int i = 0; i < all.length; i++) {
+            SeatLayout.Position position = positions.get(i);
+            SeatSlot slot = new SeatSlot(seatIds.get(position.label()), i, position);
+            all[i] = slot;
+            labels.put(slot.label(), slot);
+            if (slot.seatId() != null) {
+                ids.put(slot.seatId(), slot);
+            }
+        }
+        this.rowStarts = new int[layout.rowCount() + 1];
+        for (int i = all.length - 1; i >= 0; i--) {
+            rowStarts[all[i].position().rowIndex()] = i;
+        }
+        rowStarts[layout.rowCount()] = all.length;
+        this.slots = List.of(all);
+        this.byId = Collections.unmodifiableMap(ids);
+        this.byLabel = Collections.unmodifiableMap(labels);
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public SeatLayout getLayout() {
+        return layout;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public List<SeatSlot> slots() {
+        return slots;
+    }
+
+    public int seatCount() {
+        return slots.size();
+    }
+
+    public int rowCount() {
+        return rowStarts.length - 1;
+    }
+
+    /**
+     * Index slot đầu tiên của hàng (slot của hàng r nằm trong [rowStart(r), rowStart(r + 1)))
+     */
+    public int rowStart(int rowIndex) {
+        return rowStarts[rowIndex];
+    }
+
+    /**
+     * Ghế theo id, null nếu ghế không thuộc phòng này
+     */
+    public SeatSlot slot(Long seatId) {
+        return byId.get(seatId);
+    }
+
+    public SeatSlot slotByLabel(String label) {
+        return byLabel.get(label);
+    }
+}
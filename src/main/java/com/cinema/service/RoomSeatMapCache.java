@@ -0,0 +1,114 @@
+package com.cinema.service;
+
+import com.cinema.model.entity.Room;
+import com.cinema.repository.RoomRepository;
+import com.cinema.repository.SeatRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Cache sơ đồ ghế theo phòng (RoomSeatMap immutable, dùng chung giữa các request).
+ *
+ * - Lần đầu đọc một phòng: load 1 lần (room + projection id/nhãn ghế) rồi giữ trong bộ nhớ.
+ * - Phòng được tạo / sửa / xóa: sau commit thì build bản mới và swap nguyên khối (hoặc bỏ nếu đã xóa).
+ * - Bản load có version cũ hơn bản đang giữ sẽ bị bỏ qua (tránh ghi đè bởi lần load chạy song song).
+ * - expireAfterWrite: RoomChangedEvent chỉ đến instance xử lý thay đổi; instance khác load lại sau tối đa 1 TTL
+ *   (trong thời gian đó đặt vé vào ghế mới của phòng vừa sinh lại ghế sẽ bị từ chối)
+ * - Metrics: cache.gets{cache=room-seat-map,result=hit|miss}, cache.evictions, cache.size
+ *
+ * Cấu hình:
+ *   room-seat-map.max-size=2000
+ *   room-seat-map.ttl=5m
+ */
+@Slf4j
+@Component
+public class RoomSeatMapCache {
+
+    private final RoomRepository roomRepository;
+    private final SeatRepository seatRepository;
+
+    private final Cache<Long, RoomSeatMap> cache;
+    private final Map<Long, RoomSeatMap> seatMaps;
+
+    public RoomSeatMapCache(
+            RoomRepository roomRepository,
+            SeatRepository seatRepository,
+            MeterRegistry meterRegistry,
+            @Value("${room-seat-map.max-size:2000}") long maxSize,
+            @Value("${room-seat-map.ttl:5m}") Duration ttl) {
+        this.roomRepository = roomRepository;
+        this.seatRepository = seatRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.seatMaps = cache.asMap();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "room-seat-map");
+    }
+
+    /**
+     * Lấy sơ đồ ghế của phòng (load nếu chưa có trong cache)
+     */
+    public RoomSeatMap get(Long roomId) {
+        RoomSeatMap seatMap = cache.getIfPresent(roomId);
+        if (seatMap != null) {
+            return seatMap;
+        }
+        return install(load(roomId));
+    }
+
+    public void evict(Long roomId) {
+        cache.invalidate(roomId);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Phòng bị sửa / xóa → thay sơ đồ ghế sau khi transaction đã commit
+     */
+    @TransactionalEventListener
+    public void onRoomChanged(RoomChangedEvent event) {
+        if (event.isDeleted()) {
+            evict(event.getRoomId());
+            return;
+        }
+        try {
+            RoomSeatMap fresh = load(event.getRoomId());
+            seatMaps.put(event.getRoomId(), fresh);
+        } catch (RuntimeException e) {
+            // Không build lại được thì bỏ bản cũ, lần đọc sau sẽ load lại
+            evict(event.getRoomId());
+            log.warn("Không build lại được sơ đồ ghế phòng {}: {}", event.getRoomId(), e.getMessage());
+        }
+    }
+
+    private RoomSeatMap install(RoomSeatMap loaded) {
+        return seatMaps.merge(loaded.getRoomId(), loaded,
+                (current, candidate) -> candidate.getVersion() >= current.getVersion() ? candidate : current);
+    }
+
+    private RoomSeatMap load(Long roomId) {
+        Room room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new RuntimeException("Room không tồn tại với id: " + roomId));
+        SeatLayout layout = room.getSeatLayout() != null
+                ? SeatLayout.parse(room.getSeatLayout())
+                : SeatLayout.fromSeats(seatRepository.findByRoomId(roomId)); // Phòng cũ chưa được backfill
+        Map<String, Long> seatIds = seatRepository.findIdsByRoomId(roomId).stream()
+                .collect(Collectors.toMap(SeatRepository.SeatIdView::getSeatNumber, SeatRepository.SeatIdView::getId));
+        int version = room.getLayoutVersion() != null ? room.getLayoutVersion() : 0;
+        return new RoomSeatMap(roomId, version, layout, seatIds, room.getCreatedAt(), room.getUpdatedAt());
+    }
+}
@@ -1,18 +1,24 @@
 package com.cinema.service;
 
+import com.cinema.config.DataSourcePool;
 import com.cinema.model.dto.request.RoomRequest;
+import com.cinema.model.dto.response.RoomLayoutResponse;
 import com.cinema.model.dto.response.RoomResponse;
 import com.cinema.model.dto.response.SeatResponse;
 import com.cinema.model.entity.Cinema;
 import com.cinema.model.entity.Room;
 import com.cinema.model.entity.Seat;
-import com.cinema.model.enums.SeatType;
 import com.cinema.model.enums.UserRole;
 import com.cinema.repository.CinemaRepository;
 import com.cinema.repository.RoomRepository;
 import com.cinema.repository.SeatRepository;
+import com.cinema.repository.TicketRepository;
 import com.cinema.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -26,13 +32,18 @@ import java.util.List;
 /**
  * Service xử lý logic CRUD Room
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
+@DataSourcePool(DataSourcePool.Pool.CATALOG)
 public class RoomService {
     
     private final RoomRepository roomRepository;
     private final CinemaRepository cinemaRepository;
     private final SeatRepository seatRepository;
+    private final TicketRepository ticketRepository;
+    private final RoomSeatMapCache roomSeatMapCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Kiểm tra user hiện tại có phải Admin không
@@ -52,6 +63,7 @@ public class RoomService {
     /**
      * Lấy tất cả rooms (có phân trang)
      */
+    @Transactional(readOnly = true)
     public Page<RoomResponse> getAllRooms(Pageable pageable) {
         return roomRepository.findAll(pageable)
                 .map(this::convertToResponse);
@@ -60,6 +72,7 @@ public class RoomService {
     /**
      * Lấy rooms theo cinema ID
      */
+    @Transactional(readOnly = true)
     public List<RoomResponse> getRoomsByCinemaId(Long cinemaId) {
         return roomRepository.findByCinemaId(cinemaId)
                 .stream()
@@ -70,6 +83,7 @@ public class RoomService {
     /**
      * Lấy room theo ID
      */
+    @Transactional(readOnly = true)
     public RoomResponse getRoomById(Long id) {
         Room room = roomRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Room không tồn tại với id: " + id));
@@ -78,24 +92,51 @@ public class RoomService {
 
     /**
      * Lấy danh sách ghế theo room ID (public, không cần admin)
+     * Đọc từ sơ đồ ghế trong bộ nhớ (RoomSeatMapCache), không query DB khi cache đã có
      */
     @Transactional(readOnly = true)
     public List<SeatResponse> getSeatsByRoomId(Long roomId) {
-        // Kiểm tra room tồn tại
-        if (!roomRepository.existsById(roomId)) {
-            throw new RuntimeException("Room không tồn tại với id: " + roomId);
-        }
-        
-        List<Seat> seats = seatRepository.findByRoomId(roomId);
-        return seats.stream()
-                .map(this::convertSeatToResponse)
+        RoomSeatMap seatMap = roomSeatMapCache.get(roomId);
+        return seatMap.slots().stream()
+                .map(slot -> convertSeatToResponse(seatMap, slot))
                 .toList();
     }
     
+    /**
+     * Lấy sơ đồ ghế dạng nén của phòng (public)
+     */
+    @Transactional(readOnly = true)
+    public RoomLayoutResponse getRoomLayout(Long roomId) {
+        RoomSeatMap seatMap = roomSeatMapCache.get(roomId);
+        SeatLayout layout = seatMap.getLayout();
+        return new RoomLayoutResponse(roomId, seatMap.getVersion(), layout.rowCount(),
+                layout.width(), layout.seatCount(), layout.encode());
+    }
+    
+    /**
+     * Phòng tạo trước khi có sơ đồ nén: dựng sơ đồ từ bảng seats một lần lúc khởi động
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
+    public void backfillMissingLayouts() {
+        List<Room> rooms = roomRepository.findBySeatLayoutIsNull();
+        for (Room room : rooms) {
+            SeatLayout layout = SeatLayout.fromSeats(seatRepository.findByRoomId(room.getId()));
+            room.setSeatLayout(layout.encode());
+            room.setLayoutVersion(1);
+        }
+        if (!rooms.isEmpty()) {
+            roomRepository.saveAll(rooms);
+            log.info("Đã dựng sơ đồ ghế nén cho {} phòng cũ", rooms.size());
+        }
+    }
+    
     /**
      * Tạo room mới và tự động tạo ghế (chỉ Admin)
      */
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public RoomResponse createRoom(RoomRequest request) {
         checkAdminRole();
         
@@ -109,64 +150,64 @@ public class RoomService {
         }
         
         // Tạo Room mới
+        SeatLayout layout = resolveLayout(request);
         Room room = new Room();
         room.setCinema(cinema);
         room.setRoomNumber(request.getRoomNumber());
-        room.setTotalRows(request.getTotalRows());
-        room.setTotalCols(request.getTotalCols());
-        room.setTotalSeats(request.getTotalRows() * request.getTotalCols());
+        applyLayout(room, layout);
+        room.setLayoutVersion(1);
         
         Room savedRoom = roomRepository.save(room);
         
-        // Tự động tạo ghế dựa vào rows và cols
-        createSeatsForRoom(savedRoom, request.getDefaultSeatType());
-        
-        // Reload room để có seats
-        savedRoom = roomRepository.findById(savedRoom.getId()).orElseThrow();
+        // Tự động tạo ghế theo sơ đồ (multi-row INSERT)
+        createSeatsForRoom(savedRoom, layout);
+        eventPublisher.publishEvent(RoomChangedEvent.saved(savedRoom.getId()));
         
         return convertToResponse(savedRoom);
     }
     
     /**
-     * Tự động tạo ghế cho room
+     * Tự động tạo ghế cho room theo sơ đồ ghế
      * Ví dụ: rows=5, cols=10 → tạo A1-A10, B1-B10, C1-C10, D1-D10, E1-E10
+     * Ghế được insert bằng multi-row INSERT theo chunk (không phải 1 INSERT / ghế)
      */
-    private void createSeatsForRoom(Room room, SeatType defaultSeatType) {
-        List<Seat> seats = new ArrayList<>();
-        int rows = room.getTotalRows();
-        int cols = room.getTotalCols();
-        
-        // Tạo hàng từ A đến Z (nếu > 26 hàng thì dùng AA, AB, ...)
-        for (int row = 0; row < rows; row++) {
-            String rowLetter = getRowLetter(row); // A, B, C, ... hoặc AA, AB, ...
-            
-            for (int col = 1; col <= cols; col++) {
-                Seat seat = new Seat();
-                seat.setRoom(room);
-                seat.setSeatNumber(rowLetter + col); // A1, A2, B1, ...
-                seat.setRow(rowLetter);
-                seat.setCol(col);
-                seat.setType(defaultSeatType != null ? defaultSeatType : SeatType.NORMAL);
-                
-                seats.add(seat);
-            }
+    private void createSeatsForRoom(Room room, SeatLayout layout) {
+        List<Seat> seats = new ArrayList<>(layout.seatCount());
+        for (SeatLayout.Position position : layout.positions()) {
+            Seat seat = new Seat();
+            seat.setSeatNumber(position.label()); // A1, A2, B1, ...
+            seat.setRow(position.row());
+            seat.setCol(position.col());
+            seat.setType(position.type());
+            seats.add(seat);
         }
         
-        seatRepository.saveAll(seats);
+        seatRepository.insertAllForRoom(room.getId(), seats);
     }
     
     /**
-     * Chuyển số hàng thành chữ cái: 0->A, 1->B, ..., 25->Z, 26->AA, 27->AB, ...
+     * Sơ đồ ghế từ request: dùng seatLayout nếu có, nếu không thì phòng chữ nhật rows × cols
      */
-    private String getRowLetter(int rowIndex) {
-        if (rowIndex < 26) {
-            return String.valueOf((char) ('A' + rowIndex));
-        } else {
-            // Nếu > 26 hàng: AA, AB, AC, ...
-            int firstLetter = (rowIndex / 26) - 1;
-            int secondLetter = rowIndex % 26;
-            return String.valueOf((char) ('A' + firstLetter)) + (char) ('A' + secondLetter);
+    private SeatLayout resolveLayout(RoomRequest request) {
+        if (request.getSeatLayout() != null && !request.getSeatLayout().isBlank()) {
+            return SeatLayout.parse(request.getSeatLayout());
+        }
+        return SeatLayout.uniform(request.getTotalRows(), request.getTotalCols(), request.getDefaultSeatType());
+    }
+    
+    private void applyLayout(Room room, SeatLayout layout) {
+        room.setSeatLayout(layout.encode());
+        room.setTotalRows(layout.rowCount());
+        room.setTotalCols(layout.width());
+        room.setTotalSeats(layout.seatCount());
+    }
+    
+    private SeatLayout getLayout(Room room) {
+        if (room.getSeatLayout() != null) {
+            return SeatLayout.parse(room.getSeatLayout());
         }
+        // Phòng cũ chưa được backfill
+        return SeatLayout.fromSeats(seatRepository.findByRoomId(room.getId()));
     }
     
     /**
@@ -174,6 +215,7 @@ public class RoomService {
      * Lưu ý: Nếu thay đổi rows/cols, cần xóa ghế cũ và tạo lại
      */
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public RoomResponse updateRoom(Long id, RoomRequest request) {
         checkAdminRole();
         
@@ -190,31 +232,38 @@ public class RoomService {
             throw new RuntimeException("Số phòng " + request.getRoomNumber() + " đã tồn tại trong rạp này");
         }
         
-        // Nếu thay đổi rows/cols, cần xóa ghế cũ và tạo lại
-        boolean needRecreateSeats = !room.getTotalRows().equals(request.getTotalRows()) || 
-                                   !room.getTotalCols().equals(request.getTotalCols());
+        // Nếu sơ đồ ghế thay đổi (rows/cols hoặc seatLayout), cần xóa ghế cũ và tạo lại
+        boolean hasNewLayout = request.getSeatLayout() != null && !request.getSeatLayout().isBlank();
+        boolean sizeChanged = !room.getTotalRows().equals(request.getTotalRows()) || 
+                              !room.getTotalCols().equals(request.getTotalCols());
+        SeatLayout currentLayout = getLayout(room);
+        SeatLayout layout = hasNewLayout || sizeChanged ? resolveLayout(request) : currentLayout;
+        boolean needRecreateSeats = !layout.encode().equals(currentLayout.encode());
         
         if (needRecreateSeats) {
-            // Xóa tất cả ghế cũ
-            seatRepository.deleteAll(room.getSeats());
+            // Ghế đang được vé tham chiếu thì không thể tạo lại sơ đồ ghế
+            if (ticketRepository.existsBySeat_Room_Id(id)) {
+                throw new RuntimeException("Không thể thay đổi số hàng/số ghế của phòng đã có vé được đặt");
+            }
+            // Xóa tất cả ghế cũ bằng 1 câu DELETE
+            seatRepository.deleteByRoomId(id);
         }
         
         // Cập nhật thông tin
         room.setCinema(cinema);
         room.setRoomNumber(request.getRoomNumber());
-        room.setTotalRows(request.getTotalRows());
-        room.setTotalCols(request.getTotalCols());
-        room.setTotalSeats(request.getTotalRows() * request.getTotalCols());
+        if (needRecreateSeats || room.getSeatLayout() == null) {
+            applyLayout(room, layout);
+            room.setLayoutVersion((room.getLayoutVersion() != null ? room.getLayoutVersion() : 0) + 1);
+        }
         
         Room updatedRoom = roomRepository.save(room);
         
         // Tạo lại ghế nếu cần
         if (needRecreateSeats) {
-            createSeatsForRoom(updatedRoom, request.getDefaultSeatType());
+            createSeatsForRoom(updatedRoom, layout);
         }
-        
-        // Reload room để có seats
-        updatedRoom = roomRepository.findById(updatedRoom.getId()).orElseThrow();
+        eventPublisher.publishEvent(RoomChangedEvent.saved(updatedRoom.getId()));
         
         return convertToResponse(updatedRoom);
     }
@@ -223,6 +272,7 @@ public class RoomService {
      * Xóa room (chỉ Admin)
      */
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public void deleteRoom(Long id) {
         checkAdminRole();
         
@@ -234,10 +284,11 @@ public class RoomService {
             throw new RuntimeException("Không thể xóa phòng đang có suất chiếu. Vui lòng xóa tất cả suất chiếu trước.");
         }
         
-        // Xóa tất cả ghế (cascade sẽ tự động xóa)
-        seatRepository.deleteAll(room.getSeats());
+        // Xóa tất cả ghế bằng 1 câu DELETE
+        seatRepository.deleteByRoomId(id);
         
         roomRepository.deleteById(id);
+        eventPublisher.publishEvent(RoomChangedEvent.deleted(id));
     }
     
     /**
@@ -258,18 +309,18 @@ public class RoomService {
     }
 
     /**
-     * Convert Seat entity sang SeatResponse DTO
+     * Dựng SeatResponse từ 1 vị trí trong sơ đồ ghế nén (ghế được tạo/cập nhật cùng sơ đồ của phòng)
      */
-    private SeatResponse convertSeatToResponse(Seat seat) {
+    private SeatResponse convertSeatToResponse(RoomSeatMap seatMap, RoomSeatMap.SeatSlot slot) {
         SeatResponse response = new SeatResponse();
-        response.setId(seat.getId());
-        response.setRoomId(seat.getRoom().getId());
-        response.setSeatNumber(seat.getSeatNumber());
-        response.setRow(seat.getRow());
-        response.setCol(seat.getCol());
-        response.setType(seat.getType());
-        response.setCreatedAt(seat.getCreatedAt());
-        response.setUpdatedAt(seat.getUpdatedAt());
+        response.setId(slot.seatId());
+        response.setRoomId(seatMap.getRoomId());
+        response.setSeatNumber(slot.label());
+        response.setRow(slot.row());
+        response.setCol(slot.col());
+        response.setType(slot.type());
+        response.setCreatedAt(seatMap.getCreatedAt());
+        response.setUpdatedAt(seatMap.getUpdatedAt());
         return response;
     }
 }
@@ -0,0 +1,263 @@
+package com.cinema.service;
+
+import com.cinema.config.DataSourcePool;
+import com.cinema.model.dto.response.DailyScheduleResponse;
+import com.cinema.model.entity.Showtime;
+import com.cinema.repository.ShowtimeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Snapshot lịch chiếu theo ngày (immutable) giữ trong bộ nhớ.
+ *
+ * - Build nền trước nửa đêm cho vài ngày tới, swap nguyên khối (atomic) vào map.
+ * - Khi có thay đổi suất chiếu (sau commit) → patch đúng ngày bị ảnh hưởng từ dữ liệu trong event,
+ *   không build lại toàn bộ, không query DB.
+ * - Phim / rạp / phòng đổi tên hoặc bị xóa (CatalogChangedEvent, RoomChangedEvent) → bỏ snapshot của các ngày
+ *   có suất chiếu liên quan, request sau build lại.
+ * - Event chỉ có trên instance ghi: cả cửa sổ (từ hôm nay) được build lại định kỳ mỗi
+ *   schedule.snapshot.refresh-interval-ms → thay đổi từ instance khác có hiệu lực chậm nhất 1 chu kỳ.
+ * - Đọc trả thẳng từ bộ nhớ (không mở transaction), kèm ETag là hash nội dung.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@DataSourcePool(DataSourcePool.Pool.CATALOG)
+public class ScheduleSnapshotService {
+
+    private static final Comparator<ShowtimeChangedEvent.Entry> ENTRY_ORDER = Comparator
+            .comparing(ShowtimeChangedEvent.Entry::getCinemaId)
+            .thenComparing(ShowtimeChangedEvent.Entry::getMovieId)
+            .thenComparing(ShowtimeChangedEvent.Entry::getStartTime)
+            .thenComparing(ShowtimeChangedEvent.Entry::getShowtimeId);
+
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final ShowtimeRepository showtimeRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${schedule.snapshot.days-ahead:3}")
+    private int daysAhead;
+
+    private final Map<LocalDate, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    // Tăng mỗi lần patch, dùng để phát hiện build bị "đè" bởi thay đổi xảy ra trong lúc build
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    /**
+     * Snapshot của một ngày: danh sách suất chiếu phẳng (để patch) + response đã nhóm sẵn + ETag
+     */
+    public record Snapshot(List<ShowtimeChangedEvent.Entry> entries, DailyScheduleResponse schedule, String etag) {
+    }
+
+    /**
+     * Lấy snapshot lịch chiếu của ngày. Ngày ngoài cửa sổ warm sẽ được build theo yêu cầu (không cache).
+     * Chỉ khi phải build mới query DB (transaction readOnly riêng trong loadEntries).
+     */
+    public Snapshot getSchedule(LocalDate date) {
+        Snapshot snapshot = snapshots.get(date);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        if (isInWindow(date)) {
+            return buildAndInstall(date);
+        }
+        return toSnapshot(date, loadEntries(date));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        refreshWindow(LocalDate.now());
+    }
+
+    /**
+     * Chạy trước nửa đêm: build sẵn snapshot cho ngày mai và vài ngày tiếp theo, bỏ các ngày đã qua
+     */
+    @Scheduled(cron = "${schedule.snapshot.cron:0 50 23 * * *}")
+    public void prebuildUpcomingDays() {
+        refreshWindow(LocalDate.now().plusDays(1));
+    }
+
+    /**
+     * Build lại cả cửa sổ từ hôm nay: nhận thay đổi từ instance khác / sửa thẳng DB
+     */
+    @Scheduled(fixedDelayString = "${schedule.snapshot.refresh-interval-ms:60000}",
+            initialDelayString = "${schedule.snapshot.refresh-interval-ms:60000}")
+    public void refreshCurrentWindow() {
+        refreshWindow(LocalDate.now());
+    }
+
+    private void refreshWindow(LocalDate from) {
+        LocalDate today = LocalDate.now();
+        snapshots.keySet().removeIf(date -> date.isBefore(today));
+        for (int i = 0; i <= daysAhead; i++) {
+            LocalDate date = from.plusDays(i);
+            try {
+                buildAndInstall(date);
+            } catch (Exception e) {
+                log.error("Không build được snapshot lịch chiếu ngày {}: {}", date, e.getMessage(), e);
+            }
+        }
+        log.debug("Đã build snapshot lịch chiếu cho {} ngày từ {}", daysAhead + 1, from);
+    }
+
+    /**
+     * Patch snapshot sau khi transaction ghi suất chiếu đã commit
+     */
+    @TransactionalEventListener
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        writeSequence.incrementAndGet();
+        ShowtimeChangedEvent.Entry entry = event.getEntry();
+        if (event.getPreviousDate() != null) {
+            patch(event.getPreviousDate(), event.getShowtimeId(), null);
+        }
+        if (entry != null) {
+            patch(entry.getDate(), event.getShowtimeId(), entry);
+        }
+    }
+
+    /**
+     * Phim / rạp đổi tên hoặc bị xóa (sau commit) → bỏ các ngày có suất chiếu của phim / rạp đó
+     */
+    @TransactionalEventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getMovieId() != null) {
+            evictDatesContaining(e -> event.getMovieId().equals(e.getMovieId()));
+        }
+        if (event.getCinemaId() != null) {
+            evictDatesContaining(e -> event.getCinemaId().equals(e.getCinemaId()));
+        }
+    }
+
+    /**
+     * Phòng đổi số phòng hoặc bị xóa (sau commit) → bỏ các ngày có suất chiếu trong phòng đó
+     */
+    @TransactionalEventListener
+    public void onRoomChanged(RoomChangedEvent event) {
+        evictDatesContaining(e -> event.getRoomId().equals(e.getRoomId()));
+    }
+
+    /**
+     * Bỏ snapshot của các ngày (dùng khi dữ liệu bị sửa hàng loạt ngoài luồng event)
+     */
+    public void evict(LocalDate from, LocalDate to) {
+        writeSequence.incrementAndGet();
+        snapshots.keySet().removeIf(date -> !date.isBefore(from) && !date.isAfter(to));
+    }
+
+    private void evictDatesContaining(Predicate<ShowtimeChangedEvent.Entry> affected) {
+        writeSequence.incrementAndGet();
+        snapshots.values().removeIf(snapshot -> snapshot.entries().stream().anyMatch(affected));
+    }
+
+    private void patch(LocalDate date, Long showtimeId, ShowtimeChangedEvent.Entry replacement) {
+        snapshots.computeIfPresent(date, (d, current) -> {
+            List<ShowtimeChangedEvent.Entry> entries = new ArrayList<>(current.entries().size() + 1);
+            for (ShowtimeChangedEvent.Entry e : current.entries()) {
+                if (!e.getShowtimeId().equals(showtimeId)) {
+                    entries.add(e);
+                }
+            }
+            if (replacement != null) {
+                entries.add(replacement);
+            }
+            return toSnapshot(d, entries);
+        });
+    }
+
+    private Snapshot buildAndInstall(LocalDate date) {
+        for (int attempt = 1; ; attempt++) {
+            long sequence = writeSequence.get();
+            Snapshot built = toSnapshot(date, loadEntries(date));
+            // Nếu có patch xảy ra trong lúc đang query thì bản build có thể đã cũ → build lại
+            if (sequence == writeSequence.get() || attempt >= MAX_BUILD_ATTEMPTS) {
+                snapshots.put(date, built);
+                return built;
+            }
+        }
+    }
+
+    private List<ShowtimeChangedEvent.Entry> loadEntries(LocalDate date) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            List<Showtime> showtimes = showtimeRepository.findByStartTimeBetween(
+                    date.atStartOfDay(), date.atTime(LocalTime.MAX));
+            return showtimes.stream().map(ShowtimeChangedEvent.Entry::of).toList();
+        });
+    }
+
+    private boolean isInWindow(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        return !date.isBefore(today) && !date.isAfter(today.plusDays(daysAhead + 1L));
+    }
+
+    private Snapshot toSnapshot(LocalDate date, List<ShowtimeChangedEvent.Entry> entries) {
+        List<ShowtimeChangedEvent.Entry> sorted = entries.stream().sorted(ENTRY_ORDER).toList();
+
+        // Nhóm rạp → phim → suất chiếu (giữ thứ tự đã sort)
+        Map<Long, Map<Long, List<ShowtimeChangedEvent.Entry>>> grouped = new LinkedHashMap<>();
+        for (ShowtimeChangedEvent.Entry e : sorted) {
+            grouped.computeIfAbsent(e.getCinemaId(), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(e.getMovieId(), k -> new ArrayList<>())
+                    .add(e);
+        }
+
+        List<DailyScheduleResponse.CinemaSchedule> cinemas = new ArrayList<>(grouped.size());
+        for (Map<Long, List<ShowtimeChangedEvent.Entry>> byMovie : grouped.values()) {
+            List<DailyScheduleResponse.MovieSchedule> movies = new ArrayList<>(byMovie.size());
+            String cinemaName = null;
+            Long cinemaId = null;
+            for (List<ShowtimeChangedEvent.Entry> slots : byMovie.values()) {
+                ShowtimeChangedEvent.Entry first = slots.get(0);
+                cinemaId = first.getCinemaId();
+                cinemaName = first.getCinemaName();
+                List<DailyScheduleResponse.ShowtimeSlot> times = slots.stream()
+                        .map(e -> new DailyScheduleResponse.ShowtimeSlot(
+                                e.getShowtimeId(), e.getRoomId(), e.getRoomNumber(),
+                                e.getStartTime(), e.getEndTime(), e.getPrice()))
+                        .toList();
+                movies.add(new DailyScheduleResponse.MovieSchedule(first.getMovieId(), first.getMovieTitle(), times));
+            }
+            cinemas.add(new DailyScheduleResponse.CinemaSchedule(cinemaId, cinemaName, List.copyOf(movies)));
+        }
+
+        DailyScheduleResponse schedule = new DailyScheduleResponse(date, List.copyOf(cinemas));
+        return new Snapshot(sorted, schedule, computeEtag(schedule));
+    }
+
+    private String computeEtag(DailyScheduleResponse schedule) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(schedule);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Không tính được ETag cho lịch chiếu", e);
+        }
+    }
+}
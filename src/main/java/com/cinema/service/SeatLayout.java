@@ -0,0 +1,277 @@
+package com.cinema.service;
+
+import com.cinema.model.entity.Seat;
+import com.cinema.model.enums.SeatType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * SeatLayout - sơ đồ ghế dạng nén của một phòng (immutable).
+ *
+ * Mã hoá: các hàng cách nhau bởi '/', mỗi hàng là chuỗi các "run" dạng <số lượng><mã>:
+ * - N = ghế NORMAL, V = ghế VIP, _ = lối đi / khoảng trống
+ * Ví dụ phòng 2 hàng, mỗi hàng 4 ghế thường - lối đi - 6 ghế VIP - lối đi - 4 ghế thường:
+ *   "4N1_6V1_4N/4N1_6V1_4N"
+ *
+ * Nhãn hàng: A, B, ..., Z, AA, AB, ..., ZZ (tối đa 702 hàng). Số ghế trong hàng đánh liên tục từ 1, bỏ qua lối đi
+ * (A1..A14 ở ví dụ trên). Vị trí vật lý (x, tính cả lối đi) dùng để xét ghế liền nhau.
+ */
+public final class SeatLayout {
+
+    public static final char GAP = '_';
+
+    // Nhãn hàng tối đa 2 chữ cái: A..Z + AA..ZZ
+    public static final int MAX_ROWS = 26 + 26 * 26;
+    // Độ rộng vật lý tối đa của một hàng (tính cả lối đi)
+    public static final int MAX_ROW_WIDTH = 1000;
+    // Số ghế tối đa của một phòng
+    public static final int MAX_SEATS = 5000;
+
+    /**
+     * Một ghế trong sơ đồ
+     */
+    public record Position(int rowIndex, String row, int col, int x, SeatType type) {
+        public String label() {
+            return row + col;
+        }
+    }
+
+    // Mỗi hàng: mảng ô theo vị trí vật lý, null = lối đi
+    private final List<SeatType[]> rows;
+    private final List<Position> positions;
+    private final int width;
+
+    private SeatLayout(List<SeatType[]> rows) {
+        this.rows = List.copyOf(rows);
+        List<Position> all = new ArrayList<>();
+        int maxWidth = 0;
+        for (int r = 0; r < rows.size(); r++) {
+            SeatType[] cells = rows.get(r);
+            maxWidth = Math.max(maxWidth, cells.length);
+            String rowLabel = rowLabel(r);
+            int col = 0;
+            for (int x = 0; x < cells.length; x++) {
+                if (cells[x] != null) {
+                    all.add(new Position(r, rowLabel, ++col, x, cells[x]));
+                }
+            }
+        }
+        this.positions = Collections.unmodifiableList(all);
+        this.width = maxWidth;
+    }
+
+    /**
+     * Sơ đồ chữ nhật rows × cols, tất cả cùng một loại ghế (không có lối đi)
+     */
+    public static SeatLayout uniform(int rowCount, int colCount, SeatType type) {
+        if (rowCount > MAX_ROWS) {
+            throw new RuntimeException("Phòng tối đa " + MAX_ROWS + " hàng ghế");
+        }
+        if (colCount > MAX_ROW_WIDTH) {
+            throw new RuntimeException("Mỗi hàng tối đa " + MAX_ROW_WIDTH + " ghế");
+        }
+        if ((long) rowCount * colCount > MAX_SEATS) {
+            throw new RuntimeException("Phòng tối đa " + MAX_SEATS + " ghế");
+        }
+        SeatType seatType = type != null ? type : SeatType.NORMAL;
+        List<SeatType[]> rows = new ArrayList<>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            SeatType[] cells = new SeatType[colCount];
+            Arrays.fill(cells, seatType);
+            rows.add(cells);
+        }
+        return new SeatLayout(rows);
+    }
+
+    /**
+     * Parse chuỗi sơ đồ ghế đã mã hoá
+     */
+    public static SeatLayout parse(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            throw new RuntimeException("Sơ đồ ghế không được để trống");
+        }
+        String[] rowSpecs = encoded.trim().split("/");
+        if (rowSpecs.length > MAX_ROWS) {
+            throw new RuntimeException("Sơ đồ ghế không hợp lệ: tối đa " + MAX_ROWS + " hàng");
+        }
+        List<SeatType[]> rows = new ArrayList<>(rowSpecs.length);
+        int seatCount = 0;
+        for (String rowSpec : rowSpecs) {
+            List<SeatType> cells = new ArrayList<>();
+            int count = 0;
+            boolean hasCount = false;
+            for (char c : rowSpec.trim().toCharArray()) {
+                if (Character.isDigit(c)) {
+                    count = count * 10 + (c - '0');
+                    hasCount = true;
+                    if (count > MAX_ROW_WIDTH) {
+                        throw new RuntimeException("Sơ đồ ghế không hợp lệ: hàng " + (rows.size() + 1) + " quá dài");
+                    }
+                    continue;
+                }
+                int repeat = hasCount ? count : 1;
+                if (cells.size() + repeat > MAX_ROW_WIDTH) {
+                    throw new RuntimeException("Sơ đồ ghế không hợp lệ: hàng " + (rows.size() + 1)
+                            + " dài quá " + MAX_ROW_WIDTH + " ô");
+                }
+                SeatType type = c == GAP ? null : typeOf(c);
+                if (type != null) {
+                    seatCount += repeat;
+                    if (seatCount > MAX_SEATS) {
+                        throw new RuntimeException("Sơ đồ ghế không hợp lệ: phòng tối đa " + MAX_SEATS + " ghế");
+                    }
+                }
+                for (int i = 0; i < repeat; i++) {
+                    cells.add(type);
+                }
+                count = 0;
+                hasCount = false;
+            }
+            if (hasCount) {
+                throw new RuntimeException("Sơ đồ ghế không hợp lệ: thiếu mã loại ghế sau số lượng ở hàng " + (rows.size() + 1));
+            }
+            if (cells.stream().noneMatch(Objects::nonNull)) {
+                throw new RuntimeException("Sơ đồ ghế không hợp lệ: hàng " + (rows.size() + 1) + " không có ghế nào");
+            }
+            rows.add(cells.toArray(new SeatType[0]));
+        }
+        return new SeatLayout(rows);
+    }
+
+    /**
+     * Dựng sơ đồ từ các Seat đã có trong DB (dùng cho phòng cũ chưa có sơ đồ nén)
+     */
+    public static SeatLayout fromSeats(List<Seat> seats) {
+        Map<String, List<Seat>> byRow = new TreeMap<>(
+                Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+        for (Seat seat : seats) {
+            byRow.computeIfAbsent(seat.getRow(), k -> new ArrayList<>()).add(seat);
+        }
+        List<SeatType[]> rows = new ArrayList<>(byRow.size());
+        for (List<Seat> rowSeats : byRow.values()) {
+            rowSeats.sort(Comparator.comparing(Seat::getCol));
+            rows.add(rowSeats.stream()
+                    .map(s -> s.getType() != null ? s.getType() : SeatType.NORMAL)
+                    .toArray(SeatType[]::new));
+        }
+        return new SeatLayout(rows);
+    }
+
+    /**
+     * Mã hoá sơ đồ ghế thành chuỗi run-length
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < rows.size(); r++) {
+            if (r > 0) {
+                sb.append('/');
+            }
+            SeatType[] cells = rows.get(r);
+            int x = 0;
+            while (x < cells.length) {
+                SeatType current = cells[x];
+                int run = 1;
+                while (x + run < cells.length && cells[x + run] == current) {
+                    run++;
+                }
+                sb.append(run).append(current == null ? GAP : codeOf(current));
+                x += run;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Đổi loại ghế cho các hàng trong khoảng [fromRow, toRow] (chỉ số từ 0), giữ nguyên vị trí
+     */
+    public SeatLayout withRowType(int fromRow, int toRow, SeatType type) {
+        List<SeatType[]> changed = new ArrayList<>(rows.size());
+        for (int r = 0; r < rows.size(); r++) {
+            SeatType[] cells = rows.get(r).clone();
+            if (r >= fromRow && r <= toRow) {
+                for (int x = 0; x < cells.length; x++) {
+                    if (cells[x] != null) {
+                        cells[x] = type;
+                    }
+                }
+            }
+            changed.add(cells);
+        }
+        return new SeatLayout(changed);
+    }
+
+    public List<Position> positions() {
+        return positions;
+    }
+
+    public int rowCount() {
+        return rows.size();
+    }
+
+    /**
+     * Độ rộng vật lý lớn nhất (tính cả lối đi)
+     */
+    public int width() {
+        return width;
+    }
+
+    public int seatCount() {
+        return positions.size();
+    }
+
+    /**
+     * Chuyển số hàng thành chữ cái: 0->A, 1->B, ..., 25->Z, 26->AA, 27->AB, ..., 701->ZZ
+     */
+    public static String rowLabel(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= MAX_ROWS) {
+            throw new RuntimeException("Chỉ số hàng ghế không hợp lệ: " + rowIndex);
+        }
+        if (rowIndex < 26) {
+            return String.valueOf((char) ('A' + rowIndex));
+        }
+        int firstLetter = (rowIndex / 26) - 1;
+        int secondLetter = rowIndex % 26;
+        return String.valueOf((char) ('A' + firstLetter)) + (char) ('A' + secondLetter);
+    }
+
+    /**
+     * Chỉ số hàng từ nhãn hàng (ngược lại với rowLabel), -1 nếu không hợp lệ
+     */
+    public static int rowIndex(String rowLabel) {
+        if (rowLabel == null || rowLabel.isEmpty() || rowLabel.length() > 2) {
+            return -1;
+        }
+        String label = rowLabel.toUpperCase();
+        for (int i = 0; i < label.length(); i++) {
+            if (label.charAt(i) < 'A' || label.charAt(i) > 'Z') {
+                return -1;
+            }
+        }
+        if (label.length() == 1) {
+            return label.charAt(0) - 'A';
+        }
+        return (label.charAt(0) - 'A' + 1) * 26 + (label.charAt(1) - 'A');
+    }
+
+    private static char codeOf(SeatType type) {
+        return switch (type) {
+            case NORMAL -> 'N';
+            case VIP -> 'V';
+        };
+    }
+
+    private static SeatType typeOf(char code) {
+        return switch (Character.toUpperCase(code)) {
+            case 'N' -> SeatType.NORMAL;
+            case 'V' -> SeatType.VIP;
+            default -> throw new RuntimeException("Sơ đồ ghế không hợp lệ: mã ghế '" + code + "' không được hỗ trợ");
+        };
+    }
+}
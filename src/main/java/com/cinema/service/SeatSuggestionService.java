@@ -0,0 +1,207 @@
+package com.cinema.service;
+
+import com.cinema.config.DataSourcePool;
+import com.cinema.model.dto.response.BestSeatsResponse;
+import com.cinema.model.entity.Showtime;
+import com.cinema.model.enums.BookingStatus;
+import com.cinema.model.enums.SeatType;
+import com.cinema.repository.ShowtimeRepository;
+import com.cinema.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Gợi ý dãy ghế liền nhau tốt nhất cho một nhóm.
+ *
+ * Chạy hoàn toàn trong bộ nhớ trên sơ đồ ghế (RoomSeatMap) + bitset ghế đã bán (1 query lấy id ghế đã bán):
+ * - Quét từng hàng 1 lượt, dãy hợp lệ = count ghế trống liền nhau (không cách lối đi), đúng loại ghế nếu có lọc
+ * - Điểm (càng nhỏ càng tốt) = độ lệch hàng so với hàng lý tưởng (~60% từ màn hình)
+ *   + độ lệch tâm dãy so với tâm phòng + phạt nặng nếu dãy để lại 1 ghế trống lẻ ở hai bên
+ * - Chọn tối đa `limit` dãy không chồng nhau theo điểm tăng dần
+ */
+@Service
+@RequiredArgsConstructor
+@DataSourcePool(DataSourcePool.Pool.CATALOG)
+public class SeatSuggestionService {
+
+    public static final int MAX_GROUP_SIZE = 10;
+    public static final int DEFAULT_LIMIT = 3;
+
+    private static final double IDEAL_ROW_RATIO = 0.6;
+    private static final double ROW_WEIGHT = 1.0;
+    private static final double CENTRE_WEIGHT = 1.2;
+    private static final double SINGLE_GAP_PENALTY = 10.0;
+
+    private final ShowtimeRepository showtimeRepository;
+    private final TicketRepository ticketRepository;
+    private final RoomSeatMapCache roomSeatMapCache;
+    private final PricingEngine pricingEngine;
+
+    /**
+     * Gợi ý ghế tốt nhất cho suất chiếu (public)
+     */
+    @Transactional(readOnly = true)
+    public BestSeatsResponse getBestSeats(Long showtimeId, int count, SeatType type) {
+        if (count < 1 || count > MAX_GROUP_SIZE) {
+            throw new RuntimeException("Số ghế phải từ 1 đến " + MAX_GROUP_SIZE);
+        }
+        Showtime showtime = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new RuntimeException("Showtime không tồn tại với id: " + showtimeId));
+        if (showtime.getStartTime().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Không thể đặt vé cho suất chiếu đã qua");
+        }
+
+        RoomSeatMap seatMap = roomSeatMapCache.get(showtime.getRoom().getId());
+        BitSet occupied = loadOccupancy(showtime.getId(), seatMap);
+
+        BestSeatsResponse response = new BestSeatsResponse();
+        response.setShowtimeId(showtime.getId());
+        response.setCount(count);
+        response.setType(type);
+        response.setRemainingSeats(seatMap.seatCount() - occupied.cardinality());
+        response.setSuggestions(suggest(showtime, seatMap, occupied, count, type, DEFAULT_LIMIT));
+        return response;
+    }
+
+    /**
+     * Gợi ý thay thế khi ghế khách chọn đã bị đặt (gọi trong transaction đặt vé)
+     */
+    public List<BestSeatsResponse.SeatBlock> suggestAlternatives(Showtime showtime, RoomSeatMap seatMap, int count) {
+        if (count < 1 || count > MAX_GROUP_SIZE) {
+            return List.of();
+        }
+        BitSet occupied = loadOccupancy(showtime.getId(), seatMap);
+        return suggest(showtime, seatMap, occupied, count, null, DEFAULT_LIMIT);
+    }
+
+    private BitSet loadOccupancy(Long showtimeId, RoomSeatMap seatMap) {
+        BitSet occupied = new BitSet(seatMap.seatCount());
+        for (Long seatId : ticketRepository.findSoldSeatIdsByShowtimeId(showtimeId, BookingStatus.CANCELLED)) {
+            RoomSeatMap.SeatSlot slot = seatMap.slot(seatId);
+            if (slot != null) {
+                occupied.set(slot.index());
+            }
+        }
+        return occupied;
+    }
+
+    private List<BestSeatsResponse.SeatBlock> suggest(Showtime showtime, RoomSeatMap seatMap, BitSet occupied,
+                                                      int count, SeatType type, int limit) {
+        List<Candidate> candidates = findCandidates(seatMap, occupied, count, type);
+        candidates.sort(Comparator.comparingDouble(Candidate::score));
+
+        // Chọn các dãy tốt nhất không chồng lên nhau
+        List<Candidate> chosen = new ArrayList<>(limit);
+        BitSet taken = new BitSet(seatMap.seatCount());
+        for (Candidate candidate : candidates) {
+            if (taken.get(candidate.start(), candidate.start() + count).isEmpty()) {
+                chosen.add(candidate);
+                taken.set(candidate.start(), candidate.start() + count);
+                if (chosen.size() == limit) {
+                    break;
+                }
+            }
+        }
+        if (chosen.isEmpty()) {
+            return List.of();
+        }
+
+        PricingEngine.Quote quote = pricingEngine.quote(showtime.getId(), showtime.getPrice(),
+                occupied.cardinality(), seatMap.seatCount());
+        List<RoomSeatMap.SeatSlot> slots = seatMap.slots();
+        List<BestSeatsResponse.SeatBlock> blocks = new ArrayList<>(chosen.size());
+        for (Candidate candidate : chosen) {
+            BestSeatsResponse.SeatBlock block = new BestSeatsResponse.SeatBlock();
+            List<Long> seatIds = new ArrayList<>(count);
+            List<String> seatNumbers = new ArrayList<>(count);
+            BigDecimal totalPrice = BigDecimal.ZERO;
+            for (int i = candidate.start(); i < candidate.start() + count; i++) {
+                RoomSeatMap.SeatSlot slot = slots.get(i);
+                seatIds.add(slot.seatId());
+                seatNumbers.add(slot.label());
+                totalPrice = totalPrice.add(quote.priceFor(slot.type()));
+            }
+            block.setRow(slots.get(candidate.start()).row());
+            block.setSeatIds(seatIds);
+            block.setSeatNumbers(seatNumbers);
+            block.setTotalPrice(totalPrice);
+            block.setScore(Math.round(candidate.score() * 1000) / 1000.0);
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    /**
+     * Quét từng hàng tìm mọi dãy count ghế trống liền nhau và chấm điểm
+     */
+    private List<Candidate> findCandidates(RoomSeatMap seatMap, BitSet occupied, int count, SeatType type) {
+        List<RoomSeatMap.SeatSlot> slots = seatMap.slots();
+        int rowCount = seatMap.rowCount();
+        double idealRow = (rowCount - 1) * IDEAL_ROW_RATIO;
+        double rowSpan = Math.max(1, rowCount - 1);
+        double centreX = (seatMap.getLayout().width() - 1) / 2.0;
+        double halfWidth = Math.max(1, seatMap.getLayout().width() / 2.0);
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (int r = 0; r < rowCount; r++) {
+            int start = seatMap.rowStart(r);
+            int end = seatMap.rowStart(r + 1);
+            double rowScore = ROW_WEIGHT * Math.abs(r - idealRow) / rowSpan;
+            int run = 0;
+            for (int i = start; i < end; i++) {
+                RoomSeatMap.SeatSlot slot = slots.get(i);
+                boolean usable = slot.seatId() != null && !occupied.get(i) && (type == null || slot.type() == type);
+                if (!usable) {
+                    run = 0;
+                    continue;
+                }
+                run = run > 0 && isAdjacent(slots, i - 1, i) ? run + 1 : 1;
+                if (run < count) {
+                    continue;
+                }
+                int first = i - count + 1;
+                double blockCentre = (slots.get(first).position().x() + slot.position().x()) / 2.0;
+                double score = rowScore + CENTRE_WEIGHT * Math.abs(blockCentre - centreX) / halfWidth;
+                if (leavesSingleGap(slots, occupied, start, end, first - 1, -1)) {
+                    score += SINGLE_GAP_PENALTY;
+                }
+                if (leavesSingleGap(slots, occupied, start, end, i + 1, 1)) {
+                    score += SINGLE_GAP_PENALTY;
+                }
+                candidates.add(new Candidate(first, score));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Ghế kề dãy (neighbour) còn trống nhưng ghế kế tiếp theo cùng hướng đã bán / là lối đi / hết hàng
+     * → đặt dãy này sẽ để lại đúng 1 ghế trống lẻ
+     */
+    private boolean leavesSingleGap(List<RoomSeatMap.SeatSlot> slots, BitSet occupied,
+                                    int rowStart, int rowEnd, int neighbour, int direction) {
+        int blockEdge = neighbour - direction;
+        if (neighbour < rowStart || neighbour >= rowEnd || occupied.get(neighbour)
+                || !isAdjacent(slots, Math.min(blockEdge, neighbour), Math.max(blockEdge, neighbour))) {
+            return false;
+        }
+        int next = neighbour + direction;
+        return next < rowStart || next >= rowEnd || occupied.get(next)
+                || !isAdjacent(slots, Math.min(neighbour, next), Math.max(neighbour, next));
+    }
+
+    private static boolean isAdjacent(List<RoomSeatMap.SeatSlot> slots, int left, int right) {
+        return slots.get(right).position().x() == slots.get(left).position().x() + 1;
+    }
+
+    private record Candidate(int start, double score) {
+    }
+}
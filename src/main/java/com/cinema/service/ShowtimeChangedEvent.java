@@ -0,0 +1,62 @@
+package com.cinema.service;
+
+import com.cinema.model.entity.Showtime;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Event phát ra khi một suất chiếu được tạo / cập nhật / xóa.
+ * Mang sẵn dữ liệu cần thiết để patch lịch chiếu trong bộ nhớ mà không phải query lại DB.
+ */
+@Value
+public class ShowtimeChangedEvent {
+    Long showtimeId;
+    LocalDate previousDate; // Ngày chiếu trước khi thay đổi (null nếu tạo mới)
+    Entry entry;            // Trạng thái sau khi thay đổi (null nếu đã xóa)
+
+    @Value
+    public static class Entry {
+        Long showtimeId;
+        Long cinemaId;
+        String cinemaName;
+        Long movieId;
+        String movieTitle;
+        Long roomId;
+        String roomNumber;
+        LocalDateTime startTime;
+        LocalDateTime endTime;
+        BigDecimal price;
+
+        public LocalDate getDate() {
+            return startTime.toLocalDate();
+        }
+
+        /**
+         * Tạo entry từ entity (Room, Cinema, Movie phải load được trong transaction hiện tại)
+         */
+        public static Entry of(Showtime showtime) {
+            return new Entry(
+                    showtime.getId(),
+                    showtime.getRoom().getCinema().getId(),
+                    showtime.getRoom().getCinema().getName(),
+                    showtime.getMovie().getId(),
+                    showtime.getMovie().getTitle(),
+                    showtime.getRoom().getId(),
+                    showtime.getRoom().getRoomNumber(),
+                    showtime.getStartTime(),
+                    showtime.getEndTime(),
+                    showtime.getPrice());
+        }
+    }
+
+    public static ShowtimeChangedEvent saved(LocalDate previousDate, Showtime showtime) {
+        return new ShowtimeChangedEvent(showtime.getId(), previousDate, Entry.of(showtime));
+    }
+
+    public static ShowtimeChangedEvent deleted(Long showtimeId, LocalDate previousDate) {
+        return new ShowtimeChangedEvent(showtimeId, previousDate, null);
+    }
+}
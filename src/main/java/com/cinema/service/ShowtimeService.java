@@ -1,17 +1,23 @@
 package com.cinema.service;
 
+import com.cinema.config.DataSourcePool;
 import com.cinema.model.dto.request.ShowtimeRequest;
+import com.cinema.model.dto.response.ShowtimeAvailabilityResponse;
 import com.cinema.model.dto.response.ShowtimeResponse;
 import com.cinema.model.entity.Movie;
 import com.cinema.model.entity.Room;
 import com.cinema.model.entity.Showtime;
+import com.cinema.model.enums.BookingStatus;
 import com.cinema.model.enums.UserRole;
 import com.cinema.model.enums.MovieStatus;
+import com.cinema.repository.CinemaRepository;
 import com.cinema.repository.MovieRepository;
 import com.cinema.repository.RoomRepository;
 import com.cinema.repository.ShowtimeRepository;
+import com.cinema.repository.TicketRepository;
 import com.cinema.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -23,17 +29,23 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Service xử lý logic CRUD Showtime + kiểm tra xung đột
  */
 @Service
 @RequiredArgsConstructor
+@DataSourcePool(DataSourcePool.Pool.CATALOG)
 public class ShowtimeService {
 
     private final ShowtimeRepository showtimeRepository;
     private final MovieRepository movieRepository;
     private final RoomRepository roomRepository;
+    private final CinemaRepository cinemaRepository;
+    private final TicketRepository ticketRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private void checkAdminRole() {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -47,12 +59,15 @@ public class ShowtimeService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Page<ShowtimeResponse> getAllShowtimes(Pageable pageable) {
-        return showtimeRepository.findAll(pageable).map(this::convertToResponse);
+        // JOIN FETCH Movie/Room/Cinema + count query riêng → không N+1 khi convert
+        return showtimeRepository.findAllWithDetails(pageable).map(this::convertToResponse);
     }
 
+    @Transactional(readOnly = true)
     public ShowtimeResponse getShowtimeById(Long id) {
-        Showtime showtime = showtimeRepository.findById(id)
+        Showtime showtime = showtimeRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new RuntimeException("Showtime không tồn tại với id: " + id));
         return convertToResponse(showtime);
     }
@@ -81,7 +96,37 @@ public class ShowtimeService {
                 .toList();
     }
 
+    /**
+     * Lịch chiếu của một rạp trong ngày, kèm số ghế đã bán / còn trống.
+     * Số ghế đã bán lấy bằng 1 query GROUP BY cho toàn bộ suất chiếu (không đếm từng suất).
+     */
+    @Transactional(readOnly = true)
+    public List<ShowtimeAvailabilityResponse> getShowtimesByCinemaAndDate(Long cinemaId, LocalDate date) {
+        if (!cinemaRepository.existsById(cinemaId)) {
+            throw new RuntimeException("Cinema không tồn tại với id: " + cinemaId);
+        }
+
+        LocalDateTime startOfDay = date.atStartOfDay();
+        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
+        List<Showtime> showtimes = showtimeRepository.findByCinemaIdAndStartTimeBetween(cinemaId, startOfDay, endOfDay);
+        if (showtimes.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> showtimeIds = showtimes.stream().map(Showtime::getId).toList();
+        Map<Long, Long> soldByShowtime = ticketRepository
+                .countSoldSeatsByShowtimeIds(showtimeIds, BookingStatus.CANCELLED).stream()
+                .collect(Collectors.toMap(
+                        TicketRepository.ShowtimeSeatCount::getShowtimeId,
+                        TicketRepository.ShowtimeSeatCount::getSoldSeats));
+
+        return showtimes.stream()
+                .map(s -> convertToAvailabilityResponse(s, soldByShowtime.getOrDefault(s.getId(), 0L).intValue()))
+                .toList();
+    }
+
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public ShowtimeResponse createShowtime(ShowtimeRequest request) {
         checkAdminRole();
 
@@ -124,10 +169,12 @@ public class ShowtimeService {
         showtime.setPrice(request.getPrice());
 
         Showtime saved = showtimeRepository.save(showtime);
+        eventPublisher.publishEvent(ShowtimeChangedEvent.saved(null, saved));
         return convertToResponse(saved);
     }
 
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public ShowtimeResponse updateShowtime(Long id, ShowtimeRequest request) {
         checkAdminRole();
 
@@ -165,6 +212,7 @@ public class ShowtimeService {
         // check conflict (exclude itself)
         validateNoConflict(id, room.getId(), request.getStartTime(), request.getEndTime());
 
+        LocalDate previousDate = showtime.getStartTime().toLocalDate();
         showtime.setMovie(movie);
         showtime.setRoom(room);
         showtime.setStartTime(startTime);
@@ -172,16 +220,18 @@ public class ShowtimeService {
         showtime.setPrice(request.getPrice());
 
         Showtime updated = showtimeRepository.save(showtime);
+        eventPublisher.publishEvent(ShowtimeChangedEvent.saved(previousDate, updated));
         return convertToResponse(updated);
     }
 
     @Transactional
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
     public void deleteShowtime(Long id) {
         checkAdminRole();
-        if (!showtimeRepository.existsById(id)) {
-            throw new RuntimeException("Showtime không tồn tại với id: " + id);
-        }
-        showtimeRepository.deleteById(id);
+        Showtime showtime = showtimeRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Showtime không tồn tại với id: " + id));
+        showtimeRepository.delete(showtime);
+        eventPublisher.publishEvent(ShowtimeChangedEvent.deleted(id, showtime.getStartTime().toLocalDate()));
     }
 
     private void validateTimes(LocalDateTime startTime, LocalDateTime endTime) {
@@ -226,6 +276,24 @@ public class ShowtimeService {
         res.setUpdatedAt(showtime.getUpdatedAt());
         return res;
     }
+
+    private ShowtimeAvailabilityResponse convertToAvailabilityResponse(Showtime showtime, int soldSeats) {
+        ShowtimeAvailabilityResponse res = new ShowtimeAvailabilityResponse();
+        res.setId(showtime.getId());
+        res.setMovieId(showtime.getMovie().getId());
+        res.setMovieTitle(showtime.getMovie().getTitle());
+        res.setRoomId(showtime.getRoom().getId());
+        res.setRoomNumber(showtime.getRoom().getRoomNumber());
+        res.setStartTime(showtime.getStartTime());
+        res.setEndTime(showtime.getEndTime());
+        res.setPrice(showtime.getPrice());
+
+        int totalSeats = showtime.getRoom().getTotalSeats() != null ? showtime.getRoom().getTotalSeats() : 0;
+        res.setTotalSeats(totalSeats);
+        res.setSoldSeats(soldSeats);
+        res.setRemainingSeats(Math.max(totalSeats - soldSeats, 0));
+        return res;
+    }
 }
 
 
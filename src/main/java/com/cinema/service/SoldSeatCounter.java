@@ -0,0 +1,81 @@
+package com.cinema.service;
+
+import com.cinema.model.enums.BookingStatus;
+import com.cinema.repository.TicketRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SoldSeatCounter - số ghế đã bán theo suất chiếu, giữ trong bộ nhớ để chọn tier giá lúc đặt vé
+ * (không chạy COUNT mỗi booking, nhất là trong lúc đang giữ khóa suất chiếu).
+ *
+ * - Nạp lười bằng 1 query COUNT ở lần đầu cần, sau đó cộng / trừ sau commit (BookingSeatsChangedEvent)
+ * - expireAfterWrite: nạp lại định kỳ từ DB → số đếm lệch (instance khác bán vé, booking commit đúng lúc đang nạp)
+ *   tự hết sau tối đa 1 TTL; lệch chỉ ảnh hưởng tier giá, không ảnh hưởng kiểm tra ghế trống
+ * - Metrics: cache.gets{cache=sold-seats,result=hit|miss}, cache.size
+ *
+ * Cấu hình:
+ *   booking.sold-seats.max-size=10000
+ *   booking.sold-seats.ttl=60s
+ */
+@Component
+public class SoldSeatCounter {
+
+    private final TicketRepository ticketRepository;
+    private final Cache<Long, AtomicInteger> counts;
+
+    public SoldSeatCounter(
+            TicketRepository ticketRepository,
+            MeterRegistry meterRegistry,
+            @Value("${booking.sold-seats.max-size:10000}") long maxSize,
+            @Value("${booking.sold-seats.ttl:60s}") Duration ttl) {
+        this.ticketRepository = ticketRepository;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "sold-seats");
+    }
+
+    public int get(Long showtimeId) {
+        return counts.get(showtimeId, this::load).get();
+    }
+
+    /**
+     * Cộng / trừ sau commit; suất chiếu chưa được nạp thì bỏ qua (lần nạp sau đọc thẳng từ DB)
+     */
+    @TransactionalEventListener
+    public void onBookingSeatsChanged(BookingSeatsChangedEvent event) {
+        AtomicInteger count = counts.getIfPresent(event.getShowtimeId());
+        if (count != null) {
+            count.addAndGet(event.getSeatDelta());
+        }
+    }
+
+    /**
+     * Suất chiếu bị sửa / xóa → nạp lại từ DB ở lần đặt vé sau
+     */
+    @TransactionalEventListener
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        counts.invalidate(event.getShowtimeId());
+    }
+
+    private AtomicInteger load(Long showtimeId) {
+        int sold = ticketRepository
+                .countSoldSeatsByShowtimeIds(List.of(showtimeId), BookingStatus.CANCELLED).stream()
+                .findFirst()
+                .map(count -> count.getSoldSeats().intValue())
+                .orElse(0);
+        return new AtomicInteger(sold);
+    }
+}
@@ -0,0 +1,25 @@
+package com.cinema.service;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Event phát ra khi thông tin đăng nhập / phân quyền của user thay đổi
+ * (cập nhật, xóa, đổi mật khẩu, đổi trạng thái...).
+ * Mang các email liên quan (cũ + mới) để bỏ principal đã cache.
+ */
+@Value
+public class UserChangedEvent {
+    Long userId;
+    Set<String> emails;
+
+    public static UserChangedEvent of(Long userId, String... emails) {
+        return new UserChangedEvent(userId, Arrays.stream(emails)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet()));
+    }
+}
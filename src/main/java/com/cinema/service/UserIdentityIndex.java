@@ -0,0 +1,207 @@
+package com.cinema.service;
+
+import com.cinema.config.DataSourcePool;
+import com.cinema.repository.UserRepository;
+import com.cinema.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * UserIdentityIndex - kiểm tra nhanh username / email đã được dùng chưa.
+ *
+ * - 2 BloomFilter (username, email, so sánh không phân biệt hoa thường) trong bộ nhớ:
+ *   filter trả "chắc chắn chưa có" → trả lời ngay, không query DB;
+ *   filter trả "có thể có" → kiểm tra chính xác bằng existsByUsername / existsByEmail.
+ * - Dựng lại từ DB lúc khởi động và định kỳ (bỏ bit của user đã xóa / đổi tên, nhận user tạo từ instance khác);
+ *   user mới / đổi tên trên instance này được thêm ngay khi ghi. Vượt sức chứa dự kiến → dựng lại trên thread
+ *   của scheduler (không chặn request đang ghi).
+ * - Filter thiếu user tạo ở instance khác / ghi thẳng DB cho tới lần dựng lại sau: chỉ dùng cho kiểm tra trùng
+ *   (insert vẫn được unique constraint chặn); login dùng isEmailUnknown (âm tính được xác nhận lại bằng DB).
+ * - Filter chỉ là đường tắt: insert cuối cùng vẫn dựa vào unique constraint của bảng users
+ *   (duplicateException dịch lỗi vi phạm constraint thành thông báo cho người dùng).
+ *
+ * Metrics: auth.identity.lookups{field=username|email, source=bloom|db}
+ *
+ * Cấu hình:
+ *   user-index.expected-users=100000
+ *   user-index.rebuild-interval-ms=3600000
+ *   user-index.capacity-check-interval-ms=10000
+ */
+@Slf4j
+@Component
+public class UserIdentityIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private record Filters(BloomFilter usernames, BloomFilter emails, int capacity) {
+    }
+
+    private final UserRepository userRepository;
+    private final int expectedUsers;
+
+    private final Counter usernameBloomHits;
+    private final Counter usernameDbHits;
+    private final Counter emailBloomHits;
+    private final Counter emailDbHits;
+
+    private volatile Filters filters;
+    private volatile boolean ready;
+    private final AtomicInteger added = new AtomicInteger();
+
+    // Các ghi xảy ra trong lúc đang dựng lại filter → phát lại vào filter mới
+    private final Queue<String[]> pendingWhileRebuilding = new ConcurrentLinkedQueue<>();
+    private volatile boolean rebuilding;
+
+    public UserIdentityIndex(UserRepository userRepository,
+                             @Value("${user-index.expected-users:100000}") int expectedUsers,
+                             MeterRegistry registry) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.filters = newFilters(expectedUsers);
+        this.usernameBloomHits = lookups(registry, "username", "bloom");
+        this.usernameDbHits = lookups(registry, "username", "db");
+        this.emailBloomHits = lookups(registry, "email", "bloom");
+        this.emailDbHits = lookups(registry, "email", "db");
+    }
+
+    /**
+     * Username đã được dùng chưa (filter âm tính → không query DB)
+     */
+    public boolean isUsernameTaken(String username) {
+        if (ready && !filters.usernames().mightContain(normalize(username))) {
+            usernameBloomHits.increment();
+            return false;
+        }
+        usernameDbHits.increment();
+        return userRepository.existsByUsername(username);
+    }
+
+    /**
+     * Email đã được dùng chưa (filter âm tính → không query DB)
+     */
+    public boolean isEmailTaken(String email) {
+        if (ready && !filters.emails().mightContain(normalize(email))) {
+            emailBloomHits.increment();
+            return false;
+        }
+        emailDbHits.increment();
+        return userRepository.existsByEmail(email);
+    }
+
+    /**
+     * Email chắc chắn chưa đăng ký (login từ chối sớm, không tốn 1 lần BCrypt).
+     * Filter dương tính → false ngay (xác thực sẽ tự load user); âm tính → xác nhận lại bằng DB
+     * vì filter của instance này có thể chưa biết user vừa tạo ở instance khác.
+     */
+    public boolean isEmailUnknown(String email) {
+        if (ready && filters.emails().mightContain(normalize(email))) {
+            emailBloomHits.increment();
+            return false;
+        }
+        emailDbHits.increment();
+        return !userRepository.existsByEmail(email);
+    }
+
+    /**
+     * Ghi nhận username / email vừa được dùng (tạo user, đổi username / email)
+     */
+    public void add(String username, String email) {
+        String[] entry = {normalize(username), normalize(email)};
+        Filters current = filters;
+        current.usernames().put(entry[0]);
+        current.emails().put(entry[1]);
+        if (rebuilding) {
+            pendingWhileRebuilding.add(entry);
+        }
+        // Vượt sức chứa dự kiến → tỉ lệ dương tính giả tăng, rebuildIfOverCapacity dựng lại với kích thước lớn hơn
+        added.incrementAndGet();
+    }
+
+    /**
+     * Dựng lại sớm (không chờ chu kỳ làm mới) khi số user đã thêm vượt sức chứa của filter
+     */
+    @Scheduled(fixedDelayString = "${user-index.capacity-check-interval-ms:10000}")
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
+    public void rebuildIfOverCapacity() {
+        int capacity = filters.capacity();
+        if (ready && added.get() > capacity) {
+            log.info("User identity index over capacity ({}), rebuilding", capacity);
+            rebuild();
+        }
+    }
+
+    /**
+     * Dựng lại 2 filter từ bảng users (lúc khởi động + định kỳ)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${user-index.rebuild-interval-ms:3600000}",
+            initialDelayString = "${user-index.rebuild-interval-ms:3600000}")
+    @DataSourcePool(DataSourcePool.Pool.ADMIN)
+    public synchronized void rebuild() {
+        rebuilding = true;
+        try {
+            List<UserRepository.UserIdentityView> identities = userRepository.findAllIdentities();
+            Filters fresh = newFilters(Math.max(expectedUsers, identities.size() * 2));
+            for (UserRepository.UserIdentityView identity : identities) {
+                fresh.usernames().put(normalize(identity.getUsername()));
+                fresh.emails().put(normalize(identity.getEmail()));
+            }
+            filters = fresh;
+            added.set(identities.size());
+            ready = true;
+            log.debug("User identity index rebuilt: {} users", identities.size());
+        } finally {
+            rebuilding = false;
+            String[] entry;
+            while ((entry = pendingWhileRebuilding.poll()) != null) {
+                filters.usernames().put(entry[0]);
+                filters.emails().put(entry[1]);
+            }
+        }
+    }
+
+    /**
+     * Dịch lỗi vi phạm unique constraint của bảng users thành thông báo cho người dùng
+     */
+    public static RuntimeException duplicateException(DataIntegrityViolationException ex) {
+        String detail = ex.getMostSpecificCause().getMessage();
+        if (ex.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            detail = violation.getConstraintName() + " " + detail;
+        }
+        detail = detail != null ? detail.toLowerCase(Locale.ROOT) : "";
+        if (detail.contains("uk_users_username")) {
+            return new RuntimeException("Username đã tồn tại");
+        }
+        if (detail.contains("uk_users_email")) {
+            return new RuntimeException("Email đã được sử dụng");
+        }
+        return new RuntimeException("Username hoặc email đã được sử dụng");
+    }
+
+    private static Filters newFilters(int capacity) {
+        return new Filters(BloomFilter.create(capacity, FALSE_POSITIVE_RATE),
+                BloomFilter.create(capacity, FALSE_POSITIVE_RATE), capacity);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter lookups(MeterRegistry registry, String field, String source) {
+        return Counter.builder("auth.identity.lookups").tag("field", field).tag("source", source).register(registry);
+    }
+}
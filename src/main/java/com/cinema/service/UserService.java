@@ -1,12 +1,17 @@
 package com.cinema.service;
 
+import com.cinema.config.DataSourcePool;
 import com.cinema.model.dto.request.UserRequest;
 import com.cinema.model.dto.response.UserResponse;
+import com.cinema.model.entity.DeletedUser;
 import com.cinema.model.entity.User;
 import com.cinema.model.enums.UserRole;
+import com.cinema.repository.DeletedUserRepository;
 import com.cinema.repository.UserRepository;
 import com.cinema.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -15,15 +20,22 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 /**
  * Service xử lý logic CRUD User (chỉ Admin)
  */
 @Service
 @RequiredArgsConstructor
+@DataSourcePool(DataSourcePool.Pool.ADMIN)
 public class UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RefreshTokenService refreshTokenService;
+    private final UserIdentityIndex userIdentityIndex;
+    private final DeletedUserRepository deletedUserRepository;
     
     /**
      * Kiểm tra user hiện tại có phải Admin không
@@ -66,13 +78,13 @@ public class UserService {
     public UserResponse createUser(UserRequest request) {
         checkAdminRole();
         
-        // Kiểm tra username đã tồn tại
-        if (userRepository.existsByUsername(request.getUsername())) {
+        // Kiểm tra username đã tồn tại (Bloom filter, chỉ query DB khi có thể trùng)
+        if (userIdentityIndex.isUsernameTaken(request.getUsername())) {
             throw new RuntimeException("Username đã tồn tại");
         }
         
         // Kiểm tra email đã tồn tại
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (userIdentityIndex.isEmailTaken(request.getEmail())) {
             throw new RuntimeException("Email đã được sử dụng");
         }
         
@@ -88,7 +100,14 @@ public class UserService {
         user.setAvatar(request.getAvatar());
         user.setStatus(request.getStatus() != null ? request.getStatus() : com.cinema.model.enums.UserStatus.ACTIVE);
         
-        User savedUser = userRepository.save(user);
+        // Unique constraint là chốt chặn cuối khi có request trùng song song
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw UserIdentityIndex.duplicateException(ex);
+        }
+        userIdentityIndex.add(savedUser.getUsername(), savedUser.getEmail());
         return convertToResponse(savedUser);
     }
     
@@ -101,16 +120,21 @@ public class UserService {
         
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User không tồn tại với id: " + id));
+        String previousEmail = user.getEmail();
+        String previousUsername = user.getUsername();
+        UserRole previousRole = user.getRole();
+        com.cinema.model.enums.UserStatus previousStatus = user.getStatus();
+        boolean passwordChanged = false;
         
         // Kiểm tra username đã tồn tại (nếu thay đổi)
         if (!user.getUsername().equals(request.getUsername()) && 
-            userRepository.existsByUsername(request.getUsername())) {
+            userIdentityIndex.isUsernameTaken(request.getUsername())) {
             throw new RuntimeException("Username đã tồn tại");
         }
         
         // Kiểm tra email đã tồn tại (nếu thay đổi)
         if (!user.getEmail().equals(request.getEmail()) && 
-            userRepository.existsByEmail(request.getEmail())) {
+            userIdentityIndex.isEmailTaken(request.getEmail())) {
             throw new RuntimeException("Email đã được sử dụng");
         }
         
@@ -121,6 +145,7 @@ public class UserService {
         // Chỉ update password nếu có trong request
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
+            passwordChanged = true;
         }
         
         if (request.getRole() != null) {
@@ -142,7 +167,28 @@ public class UserService {
             user.setStatus(request.getStatus());
         }
         
-        User updatedUser = userRepository.save(user);
+        // Thông tin đăng nhập / phân quyền đổi → tăng phiên bản token, JWT đã cấp bị thu hồi
+        if (passwordChanged
+                || !previousUsername.equals(user.getUsername())
+                || !previousEmail.equals(user.getEmail())
+                || previousRole != user.getRole()
+                || previousStatus != user.getStatus()) {
+            user.bumpTokenVersion();
+        }
+        
+        User updatedUser;
+        try {
+            updatedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw UserIdentityIndex.duplicateException(ex);
+        }
+        userIdentityIndex.add(updatedUser.getUsername(), updatedUser.getEmail());
+        if (passwordChanged) {
+            // Admin đặt lại mật khẩu → thu hồi mọi refresh token của user
+            refreshTokenService.revokeAll(updatedUser.getId());
+        }
+        // Role / status / mật khẩu / email có thể đã đổi → bỏ principal đã cache
+        eventPublisher.publishEvent(UserChangedEvent.of(updatedUser.getId(), previousEmail, updatedUser.getEmail()));
         return convertToResponse(updatedUser);
     }
     
@@ -153,11 +199,14 @@ public class UserService {
     public void deleteUser(Long id) {
         checkAdminRole();
         
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User không tồn tại với id: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User không tồn tại với id: " + id));
         
-        userRepository.deleteById(id);
+        refreshTokenService.deleteAll(id);
+        userRepository.delete(user);
+        // Tombstone trong DB → instance khác cũng thu hồi token của user này khi nạp lại danh sách thu hồi
+        deletedUserRepository.save(new DeletedUser(id, LocalDateTime.now()));
+        eventPublisher.publishEvent(UserChangedEvent.of(id, user.getEmail()));
     }
     
     /**
@@ -0,0 +1,107 @@
+package com.cinema.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * BloomFilter - tập hợp xác suất gọn nhẹ: "chắc chắn không có" hoặc "có thể có".
+ *
+ * - mightContain(...) = false → phần tử chắc chắn chưa từng được put.
+ * - mightContain(...) = true  → có thể có (tỉ lệ dương tính giả ~ fpp khi số phần tử ≤ expectedInsertions),
+ *   nơi gọi phải kiểm tra lại bằng nguồn chính xác (map / DB).
+ *
+ * Dùng double hashing (h1 + i·h2) trên hash 64-bit, bit lưu trong AtomicLongArray nên put/mightContain
+ * an toàn khi gọi song song từ nhiều thread. Không hỗ trợ xóa phần tử: muốn xóa thì dựng filter mới.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    /**
+     * Tạo filter cho khoảng expectedInsertions phần tử với tỉ lệ dương tính giả mong muốn fpp (0 < fpp < 1)
+     */
+    public static BloomFilter create(int expectedInsertions, double fpp) {
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp phải nằm trong khoảng (0, 1): " + fpp);
+        }
+        long n = Math.max(1, expectedInsertions);
+        // m = -n·ln(p) / (ln 2)^2, k = m/n · ln 2
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    public void put(long key) {
+        set(mix64(key));
+    }
+
+    public boolean mightContain(long key) {
+        return test(mix64(key));
+    }
+
+    public void put(CharSequence key) {
+        set(hash(key));
+    }
+
+    public boolean mightContain(CharSequence key) {
+        return test(hash(key));
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private void set(long hash) {
+        long h1 = hash;
+        long h2 = mix64(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(index);
+            while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask)) {
+                current = words.get(index);
+            }
+        }
+    }
+
+    private boolean test(long hash) {
+        long h1 = hash;
+        long h2 = mix64(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a 64-bit trên các ký tự, sau đó trộn lại để bit thấp phân bố đều
+    private static long hash(CharSequence key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+
+    // Bước finalizer của MurmurHash3 (fmix64)
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,235 @@
+-- ============================================
+-- V1: Schema ban đầu (MySQL)
+-- Đúng bằng schema mà ddl-auto=update đã tạo cho bản phát hành cuối cùng trước khi chuyển sang Flyway.
+-- Database đã có sẵn bảng (tạo bởi Hibernate) KHÔNG chạy file này: Flyway baseline ở version 1
+-- (spring.flyway.baseline-on-migrate=true), chỉ chạy các migration từ V2 → V1 KHÔNG được chứa gì mới hơn bản đó.
+-- Thay đổi schema sau đó nằm ở V2 trở đi.
+-- Giữ nguyên tên constraint Hibernate đã sinh để database mới và database cũ giống nhau.
+-- ============================================
+
+create table booking_refreshments (
+    quantity integer not null,
+    total_price decimal(10,2) not null,
+    booking_id bigint not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    refreshment_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table bookings (
+    total_price decimal(10,2) not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    payment_time datetime(6),
+    showtime_id bigint not null,
+    updated_at datetime(6),
+    user_id bigint not null,
+    booking_code varchar(20) not null,
+    status enum ('PENDING','PAID','CANCELLED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table cinemas (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    phone varchar(20),
+    email varchar(100),
+    name varchar(200) not null,
+    address TEXT not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table movie_actors (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    movie_id bigint not null,
+    updated_at datetime(6),
+    name varchar(200) not null,
+    avatar_url varchar(500),
+    primary key (id)
+) engine=InnoDB;
+
+create table movies (
+    duration integer not null,
+    end_date date not null,
+    release_date date not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    age_rating varchar(10),
+    genre varchar(50),
+    title varchar(200) not null,
+    movie_cast varchar(1000),
+    description TEXT,
+    director varchar(255),
+    poster varchar(255),
+    trailer varchar(255),
+    status enum ('COMING_SOON','NOW_SHOWING','ENDED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table refreshments (
+    is_current bit not null,
+    price decimal(10,2) not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    name varchar(200) not null,
+    picture varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table reviews (
+    rating integer not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    movie_id bigint not null,
+    updated_at datetime(6),
+    author_name varchar(100) not null,
+    comment TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+create table rooms (
+    total_cols integer not null,
+    total_rows integer not null,
+    total_seats integer not null,
+    cinema_id bigint not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    room_number varchar(10) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table seats (
+    col integer not null,
+    seat_row varchar(5) not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    room_id bigint not null,
+    updated_at datetime(6),
+    seat_number varchar(10) not null,
+    type enum ('NORMAL','VIP') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table showtimes (
+    price decimal(10,2) not null,
+    created_at datetime(6),
+    end_time datetime(6) not null,
+    id bigint not null auto_increment,
+    movie_id bigint not null,
+    room_id bigint not null,
+    start_time datetime(6) not null,
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table tickets (
+    price decimal(10,2) not null,
+    booking_id bigint not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    seat_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    phone varchar(20),
+    username varchar(50) not null,
+    email varchar(100) not null,
+    full_name varchar(100),
+    address TEXT,
+    avatar varchar(255),
+    password varchar(255) not null,
+    role enum ('ADMIN','CUSTOMER') not null,
+    status enum ('ACTIVE','LOCKED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table booking_refreshments
+   add constraint uk_booking_refreshment unique (booking_id, refreshment_id);
+
+alter table bookings
+   add constraint UK_q97166k18hklq6ls46osbrftx unique (booking_code);
+
+alter table rooms
+   add constraint uk_cinema_room unique (cinema_id, room_number);
+
+alter table seats
+   add constraint uk_room_seat unique (room_id, seat_number);
+
+alter table tickets
+   add constraint uk_booking_seat unique (booking_id, seat_id);
+
+alter table users
+   add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table users
+   add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table booking_refreshments
+   add constraint FKgutfo9ka4xg64080eforlg45e
+   foreign key (booking_id)
+   references bookings (id);
+
+alter table booking_refreshments
+   add constraint FK4r34vwi4lk7p11a6j0mpcfago
+   foreign key (refreshment_id)
+   references refreshments (id);
+
+alter table bookings
+   add constraint FKc7q4u7vleq90vlvy8c7lmwtyl
+   foreign key (showtime_id)
+   references showtimes (id);
+
+alter table bookings
+   add constraint FKeyog2oic85xg7hsu2je2lx3s6
+   foreign key (user_id)
+   references users (id);
+
+alter table movie_actors
+   add constraint FKs4rlt03tdf55rwso4uyrwm0oq
+   foreign key (movie_id)
+   references movies (id);
+
+alter table reviews
+   add constraint FK87tlqya0rq8ijfjscldpvvdyq
+   foreign key (movie_id)
+   references movies (id);
+
+alter table rooms
+   add constraint FKjp9bjtvlojbw581bpq23cpw4j
+   foreign key (cinema_id)
+   references cinemas (id);
+
+alter table seats
+   add constraint FKg993pi7ucgy616icmddq8u335
+   foreign key (room_id)
+   references rooms (id);
+
+alter table showtimes
+   add constraint FKeltpyuei1d5g3n6ikpsjwwil6
+   foreign key (movie_id)
+   references movies (id);
+
+alter table showtimes
+   add constraint FKrumrrbei9jppryk4teoyoetit
+   foreign key (room_id)
+   references rooms (id);
+
+alter table tickets
+   add constraint FKefja4avuu7g29t78mxifrsynb
+   foreign key (booking_id)
+   references bookings (id);
+
+alter table tickets
+   add constraint FK1f6n3pv4b80wl6gj4ra32ctxk
+   foreign key (seat_id)
+   references seats (id);
@@ -0,0 +1,13 @@
+-- ============================================
+-- V4: Tombstone user đã xóa cho danh sách thu hồi JWT (MySQL)
+-- Instance khác nạp lại danh sách thu hồi từ bảng này (dòng users đã bị xóa)
+-- ============================================
+
+create table deleted_users (
+    user_id bigint not null,
+    deleted_at datetime(6) not null,
+    primary key (user_id)
+) engine=InnoDB;
+
+create index idx_deleted_users_deleted_at
+   on deleted_users (deleted_at);
@@ -0,0 +1,218 @@
+-- ============================================
+-- V1: Schema ban đầu (PostgreSQL)
+-- Đúng bằng schema mà ddl-auto=update đã tạo cho bản phát hành cuối cùng trước khi chuyển sang Flyway.
+-- Database đã có sẵn bảng (tạo bởi Hibernate) KHÔNG chạy file này: Flyway baseline ở version 1
+-- (spring.flyway.baseline-on-migrate=true), chỉ chạy các migration từ V2 → V1 KHÔNG được chứa gì mới hơn bản đó.
+-- Thay đổi schema sau đó nằm ở V2 trở đi.
+-- Giữ nguyên tên constraint Hibernate đã sinh để database mới và database cũ giống nhau.
+-- ============================================
+
+create table booking_refreshments (
+    quantity integer not null,
+    total_price numeric(10,2) not null,
+    booking_id bigint not null,
+    created_at timestamp(6),
+    id bigserial not null,
+    refreshment_id bigint not null,
+    primary key (id),
+    constraint uk_booking_refreshment unique (booking_id, refreshment_id)
+);
+
+create table bookings (
+    total_price numeric(10,2) not null,
+    created_at timestamp(6),
+    id bigserial not null,
+    payment_time timestamp(6),
+    showtime_id bigint not null,
+    updated_at timestamp(6),
+    user_id bigint not null,
+    booking_code varchar(20) not null unique,
+    status varchar(255) not null check (status in ('PENDING','PAID','CANCELLED')),
+    primary key (id)
+);
+
+create table cinemas (
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    phone varchar(20),
+    email varchar(100),
+    name varchar(200) not null,
+    address TEXT not null,
+    primary key (id)
+);
+
+create table movie_actors (
+    created_at timestamp(6),
+    id bigserial not null,
+    movie_id bigint not null,
+    updated_at timestamp(6),
+    name varchar(200) not null,
+    avatar_url varchar(500),
+    primary key (id)
+);
+
+create table movies (
+    duration integer not null,
+    end_date date not null,
+    release_date date not null,
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    age_rating varchar(10),
+    genre varchar(50),
+    title varchar(200) not null,
+    movie_cast varchar(1000),
+    description TEXT,
+    director varchar(255),
+    poster varchar(255),
+    status varchar(255) not null check (status in ('COMING_SOON','NOW_SHOWING','ENDED')),
+    trailer varchar(255),
+    primary key (id)
+);
+
+create table refreshments (
+    is_current boolean not null,
+    price numeric(10,2) not null,
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    name varchar(200) not null,
+    picture varchar(255),
+    primary key (id)
+);
+
+create table reviews (
+    rating integer not null,
+    created_at timestamp(6),
+    id bigserial not null,
+    movie_id bigint not null,
+    updated_at timestamp(6),
+    author_name varchar(100) not null,
+    comment TEXT,
+    primary key (id)
+);
+
+create table rooms (
+    total_cols integer not null,
+    total_rows integer not null,
+    total_seats integer not null,
+    cinema_id bigint not null,
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    room_number varchar(10) not null,
+    primary key (id),
+    constraint uk_cinema_room unique (cinema_id, room_number)
+);
+
+create table seats (
+    col integer not null,
+    seat_row varchar(5) not null,
+    created_at timestamp(6),
+    id bigserial not null,
+    room_id bigint not null,
+    updated_at timestamp(6),
+    seat_number varchar(10) not null,
+    type varchar(255) not null check (type in ('NORMAL','VIP')),
+    primary key (id),
+    constraint uk_room_seat unique (room_id, seat_number)
+);
+
+create table showtimes (
+    price numeric(10,2) not null,
+    created_at timestamp(6),
+    end_time timestamp(6) not null,
+    id bigserial not null,
+    movie_id bigint not null,
+    room_id bigint not null,
+    start_time timestamp(6) not null,
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table tickets (
+    price numeric(10,2) not null,
+    booking_id bigint not null,
+    created_at timestamp(6),
+    id bigserial not null,
+    seat_id bigint not null,
+    primary key (id),
+    constraint uk_booking_seat unique (booking_id, seat_id)
+);
+
+create table users (
+    created_at timestamp(6),
+    id bigserial not null,
+    updated_at timestamp(6),
+    phone varchar(20),
+    username varchar(50) not null unique,
+    email varchar(100) not null unique,
+    full_name varchar(100),
+    address TEXT,
+    avatar varchar(255),
+    password varchar(255) not null,
+    role varchar(255) not null check (role in ('ADMIN','CUSTOMER')),
+    status varchar(255) not null check (status in ('ACTIVE','LOCKED')),
+    primary key (id)
+);
+
+alter table booking_refreshments
+   add constraint FKgutfo9ka4xg64080eforlg45e
+   foreign key (booking_id)
+   references bookings;
+
+alter table booking_refreshments
+   add constraint FK4r34vwi4lk7p11a6j0mpcfago
+   foreign key (refreshment_id)
+   references refreshments;
+
+alter table bookings
+   add constraint FKc7q4u7vleq90vlvy8c7lmwtyl
+   foreign key (showtime_id)
+   references showtimes;
+
+alter table bookings
+   add constraint FKeyog2oic85xg7hsu2je2lx3s6
+   foreign key (user_id)
+   references users;
+
+alter table movie_actors
+   add constraint FKs4rlt03tdf55rwso4uyrwm0oq
+   foreign key (movie_id)
+   references movies;
+
+alter table reviews
+   add constraint FK87tlqya0rq8ijfjscldpvvdyq
+   foreign key (movie_id)
+   references movies;
+
+alter table rooms
+   add constraint FKjp9bjtvlojbw581bpq23cpw4j
+   foreign key (cinema_id)
+   references cinemas;
+
+alter table seats
+   add constraint FKg993pi7ucgy616icmddq8u335
+   foreign key (room_id)
+   references rooms;
+
+alter table showtimes
+   add constraint FKeltpyuei1d5g3n6ikpsjwwil6
+   foreign key (movie_id)
+   references movies;
+
+alter table showtimes
+   add constraint FKrumrrbei9jppryk4teoyoetit
+   foreign key (room_id)
+   references rooms;
+
+alter table tickets
+   add constraint FKefja4avuu7g29t78mxifrsynb
+   foreign key (booking_id)
+   references bookings;
+
+alter table tickets
+   add constraint FK1f6n3pv4b80wl6gj4ra32ctxk
+   foreign key (seat_id)
+   references seats;
@@ -0,0 +1,44 @@
+-- ============================================
+-- V2: Thay đổi schema từ sau bản phát hành cuối dùng ddl-auto=update (V1) (PostgreSQL)
+-- - refresh_tokens: refresh token xoay vòng (hash + family)
+-- - users.token_version: phiên bản token cho danh sách thu hồi JWT
+-- - rooms.seat_layout / layout_version: sơ đồ ghế nén + version
+-- - showtimes(room_id, start_time): lịch chiếu theo rạp / phòng trong ngày
+-- - đổi tên unique constraint của users sang tên cố định
+-- ============================================
+
+create table refresh_tokens (
+    revoked boolean not null,
+    created_at timestamp(6),
+    expires_at timestamp(6) not null,
+    id bigserial not null,
+    used_at timestamp(6),
+    user_id bigint not null,
+    family_id varchar(36) not null,
+    token_hash varchar(64) not null,
+    primary key (id),
+    constraint uk_refresh_token_hash unique (token_hash)
+);
+
+create index idx_refresh_token_family
+   on refresh_tokens (family_id);
+
+create index idx_refresh_token_expires
+   on refresh_tokens (expires_at);
+
+alter table refresh_tokens
+   add constraint FK1lih5y2npsf8u5o3vhdb9y0os
+   foreign key (user_id)
+   references users;
+
+alter table users add column token_version integer;
+
+alter table rooms add column seat_layout TEXT;
+alter table rooms add column layout_version integer;
+
+create index idx_showtimes_room_start
+   on showtimes (room_id, start_time);
+
+-- Unique constraint do PostgreSQL tự đặt tên (unique trên cột, ddl-auto=update) → tên cố định khai báo trên Entity
+alter table users rename constraint users_username_key to uk_users_username;
+alter table users rename constraint users_email_key to uk_users_email;
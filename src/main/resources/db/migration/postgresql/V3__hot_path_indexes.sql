@@ -0,0 +1,28 @@
+-- ============================================
+-- V3: Index cho các query nóng (PostgreSQL)
+-- Kiểm tra plan: chạy app với db.explain-check.enabled=true (QueryPlanVerifier)
+-- Lưu ý PostgreSQL: khóa ngoại không tự có index, cột khóa ngoại hay lọc phải tạo index riêng
+-- ============================================
+
+-- tickets(booking_id): đã có sẵn nhờ uk_booking_seat (booking_id, seat_id) - không tạo index trùng
+
+-- Vé theo ghế (findBySeatId, kiểm tra ghế trước khi xóa phòng)
+create index idx_tickets_seat on tickets (seat_id);
+
+-- Booking của 1 suất chiếu theo trạng thái (ghế đã bán, đếm ghế theo suất chiếu)
+create index idx_bookings_showtime_status on bookings (showtime_id, status);
+
+-- Lịch sử đặt vé của user, mới nhất trước
+create index idx_bookings_user_created on bookings (user_id, created_at);
+
+-- Suất chiếu theo phim / theo ngày (showtimes(room_id, start_time) đã có: idx_showtimes_room_start)
+create index idx_showtimes_movie_start on showtimes (movie_id, start_time);
+create index idx_showtimes_start on showtimes (start_time);
+
+-- Phim theo trạng thái + ngày khởi chiếu (đang chiếu / sắp chiếu)
+create index idx_movies_status_release on movies (status, release_date);
+
+-- Cột khóa ngoại được lọc trực tiếp (thu hồi refresh token, diễn viên / review của phim)
+create index idx_refresh_tokens_user on refresh_tokens (user_id);
+create index idx_movie_actors_movie on movie_actors (movie_id);
+create index idx_reviews_movie on reviews (movie_id);
@@ -0,0 +1,12 @@
+-- ============================================
+-- V5: Thời điểm tăng phiên bản token (PostgreSQL)
+-- Danh sách thu hồi JWT chỉ nạp user đổi phiên bản trong thời hạn access token (jwt.expiration)
+-- ============================================
+
+alter table users add column token_version_changed_at timestamp(6);
+
+-- Phiên bản đã tăng trước khi có cột: coi như vừa đổi (giữ trong danh sách thu hồi thêm 1 thời hạn access token)
+update users set token_version_changed_at = current_timestamp where token_version > 0;
+
+create index idx_users_token_version_changed_at
+   on users (token_version_changed_at);
@@ -0,0 +1,34 @@
+package com.cinema.config;
+
+import java.util.concurrent.Callable;
+
+/**
+ * SqlStatementAssertions - kiểm tra số SQL statement trong test để chặn N+1 tái xuất hiện.
+ *
+ * Cần datasource-proxy đang bật (sql-stats.enabled=true, mặc định):
+ *   SqlStatementAssertions.assertMaxStatements(3, () -> mockMvc.perform(get("/api/bookings")));
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Chạy action và fail (AssertionError) nếu số SQL statement vượt quá max.
+     * Thông báo lỗi kèm các câu SQL lặp lại (dấu hiệu N+1).
+     */
+    public static <T> T assertMaxStatements(int max, Callable<T> action) throws Exception {
+        SqlStatementStats stats = SqlStatementStats.begin();
+        T result;
+        try {
+            result = action.call();
+        } finally {
+            SqlStatementStats.end(stats);
+        }
+        if (stats.getStatements() > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but was " + stats.getStatements()
+                    + "; repeated: " + stats.repeatedShapes(2));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,268 @@
+package com.cinema.repository;
+
+import com.cinema.model.enums.BookingStatus;
+import com.cinema.model.enums.MovieStatus;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RepositoryQueryPlanTest - gọi các query nóng của repository và EXPLAIN đúng SQL mà Hibernate sinh ra.
+ *
+ * - SQL + tham số bind lấy từ datasource-proxy (listener bọc ngoài DataSource của app), không chép tay:
+ *   sửa query repository → test tự EXPLAIN SQL mới.
+ * - MySQL: dòng EXPLAIN có type=ALL trên bảng lớn mà possible_keys rỗng = không có index nào dùng được
+ *   (có possible_keys nhưng vẫn ALL là do bảng đang ít dữ liệu, optimizer chọn scan - không tính).
+ * - PostgreSQL: EXPLAIN với enable_seqscan=off → còn "Seq Scan on <bảng>" nghĩa là không có index dùng được.
+ * - Schema do Flyway dựng trên chính database đó; query ghi (@Modifying) chạy trong transaction của test, rollback.
+ *
+ * Chỉ chạy khi trỏ tới MySQL / PostgreSQL thật (bỏ qua trong build thường):
+ *   mvn test -Dtest=RepositoryQueryPlanTest -Dspring.datasource.url=jdbc:postgresql://localhost:5432/cinema_db
+ *       -Dspring.datasource.username=... -Dspring.datasource.password=...
+ *
+ * Khởi động cả Tomcat (port ngẫu nhiên) như app thật: hibernate.javax.cache.uri=classpath:... cần URL handler
+ * "classpath:" mà Tomcat đăng ký, môi trường MOCK không có → không dựng được SessionFactory.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Transactional
+@EnabledIfSystemProperty(named = "spring.datasource.url", matches = "jdbc:(mysql|postgresql):.*")
+class RepositoryQueryPlanTest {
+
+    private static final Set<String> LARGE_TABLES = Set.of("tickets", "bookings", "showtimes", "seats", "movies",
+            "users", "refresh_tokens", "booking_refreshments", "movie_actors", "reviews");
+
+    private static final Pattern PG_SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private SeatRepository seatRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private MovieActorRepository movieActorRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Test
+    void hotQueriesUseIndexes() throws Exception {
+        Map<String, Runnable> hotQueries = new LinkedHashMap<>();
+        hotQueries.put("TicketRepository.findByBookingId", () -> ticketRepository.findByBookingId(1L));
+        hotQueries.put("TicketRepository.findBySeatId", () -> ticketRepository.findBySeatId(1L));
+        hotQueries.put("TicketRepository.findOccupiedSeatIds",
+                () -> ticketRepository.findOccupiedSeatIds(1L, List.of(1L, 2L, 3L), BookingStatus.CANCELLED));
+        hotQueries.put("TicketRepository.findSoldSeatIdsByShowtimeId",
+                () -> ticketRepository.findSoldSeatIdsByShowtimeId(1L, BookingStatus.CANCELLED));
+        hotQueries.put("TicketRepository.countSoldSeatsByShowtimeIds",
+                () -> ticketRepository.countSoldSeatsByShowtimeIds(List.of(1L, 2L, 3L), BookingStatus.CANCELLED));
+        hotQueries.put("BookingRepository.findByUserId",
+                () -> bookingRepository.findByUserId(1L, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"))));
+        hotQueries.put("BookingRepository.findByUserIdAndStatus",
+                () -> bookingRepository.findByUserIdAndStatus(1L, BookingStatus.PAID,
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"))));
+        hotQueries.put("BookingRepository.findByShowtimeId", () -> bookingRepository.findByShowtimeId(1L));
+        hotQueries.put("BookingRepository.findByBookingCode", () -> bookingRepository.findByBookingCode("BK00000000"));
+        hotQueries.put("ShowtimeRepository.findByMovie_Id", () -> showtimeRepository.findByMovie_Id(1L));
+        hotQueries.put("ShowtimeRepository.findByStartTimeBetween",
+                () -> showtimeRepository.findByStartTimeBetween(NOW, NOW.plusDays(1)));
+        hotQueries.put("ShowtimeRepository.findByCinemaIdAndStartTimeBetween",
+                () -> showtimeRepository.findByCinemaIdAndStartTimeBetween(1L, NOW, NOW.plusDays(1)));
+        hotQueries.put("ShowtimeRepository.findConflictingShowtimes",
+                () -> showtimeRepository.findConflictingShowtimes(1L, NOW, NOW.plusHours(2)));
+        hotQueries.put("MovieRepository.findByStatus", () -> movieRepository.findByStatus(MovieStatus.NOW_SHOWING));
+        hotQueries.put("MovieRepository.findByStatusAndReleaseDateLessThanEqual",
+                () -> movieRepository.findByStatusAndReleaseDateLessThanEqual(MovieStatus.NOW_SHOWING, LocalDate.now()));
+        hotQueries.put("SeatRepository.findIdsByRoomId", () -> seatRepository.findIdsByRoomId(1L));
+        hotQueries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("customer1@example.com"));
+        hotQueries.put("UserRepository.findByUsername", () -> userRepository.findByUsername("customer1"));
+        hotQueries.put("UserRepository.findTokenRevocations",
+                () -> userRepository.findTokenRevocations(NOW.minusDays(1)));
+        hotQueries.put("RefreshTokenRepository.findByTokenHash", () -> refreshTokenRepository.findByTokenHash("hash"));
+        hotQueries.put("RefreshTokenRepository.revokeFamily", () -> refreshTokenRepository.revokeFamily("family"));
+        hotQueries.put("RefreshTokenRepository.revokeAllByUserId", () -> refreshTokenRepository.revokeAllByUserId(1L));
+        hotQueries.put("RefreshTokenRepository.findExpiredIds",
+                () -> refreshTokenRepository.findExpiredIds(NOW, PageRequest.of(0, 500)));
+        hotQueries.put("MovieActorRepository.findByMovie_Id", () -> movieActorRepository.findByMovie_Id(1L));
+        hotQueries.put("ReviewRepository.findByMovie_IdOrderByCreatedAtDesc",
+                () -> reviewRepository.findByMovie_IdOrderByCreatedAtDesc(1L));
+
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Runnable> hotQuery : hotQueries.entrySet()) {
+            List<CapturedQuery> captured = CapturingListener.capture(hotQuery.getValue());
+            assertFalse(captured.isEmpty(), hotQuery.getKey() + " không chạy SQL nào");
+            for (CapturedQuery query : captured) {
+                List<String> fullScans = explain(query);
+                if (!fullScans.isEmpty()) {
+                    violations.add(hotQuery.getKey() + " → full scan " + fullScans + ": " + query.sql());
+                }
+            }
+        }
+        assertTrue(violations.isEmpty(), "Query plan check failed (" + violations.size() + "): " + violations);
+    }
+
+    /**
+     * EXPLAIN trên connection riêng (không đi qua transaction của test), rollback sau khi xong
+     */
+    private List<String> explain(CapturedQuery query) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            boolean postgres = product.contains("postgresql");
+            connection.setAutoCommit(false);
+            try {
+                if (postgres) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET LOCAL enable_seqscan = off");
+                    }
+                }
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql())) {
+                    for (ParameterSetOperation parameter : query.parameters()) {
+                        parameter.getMethod().invoke(statement, parameter.getArgs());
+                    }
+                    try (ResultSet rows = statement.executeQuery()) {
+                        return postgres ? postgresFullScans(rows) : mySqlFullScans(rows);
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    /**
+     * MySQL: bảng lớn có type=ALL và không có possible_keys
+     */
+    private static List<String> mySqlFullScans(ResultSet rows) throws Exception {
+        List<String> fullScans = new ArrayList<>();
+        while (rows.next()) {
+            String table = rows.getString("table");
+            if (table != null && LARGE_TABLES.contains(table.toLowerCase(Locale.ROOT))
+                    && "ALL".equalsIgnoreCase(rows.getString("type"))
+                    && rows.getString("possible_keys") == null) {
+                fullScans.add(table);
+            }
+        }
+        return fullScans;
+    }
+
+    /**
+     * PostgreSQL: "Seq Scan on <bảng lớn>" dù đã tắt enable_seqscan
+     */
+    private static List<String> postgresFullScans(ResultSet rows) throws Exception {
+        List<String> fullScans = new ArrayList<>();
+        while (rows.next()) {
+            Matcher matcher = PG_SEQ_SCAN.matcher(rows.getString(1));
+            if (matcher.find() && LARGE_TABLES.contains(matcher.group(1).toLowerCase(Locale.ROOT))) {
+                fullScans.add(matcher.group(1));
+            }
+        }
+        return fullScans;
+    }
+
+    private record CapturedQuery(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    /**
+     * Listener datasource-proxy ghi lại SQL + tham số bind của thread đang capture (bỏ qua job nền)
+     */
+    private static class CapturingListener implements QueryExecutionListener {
+
+        private static final ThreadLocal<List<CapturedQuery>> CAPTURED = new ThreadLocal<>();
+
+        static List<CapturedQuery> capture(Runnable action) {
+            List<CapturedQuery> captured = new ArrayList<>();
+            CAPTURED.set(captured);
+            try {
+                action.run();
+            } finally {
+                CAPTURED.remove();
+            }
+            return captured;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            List<CapturedQuery> captured = CAPTURED.get();
+            if (captured == null) {
+                return;
+            }
+            for (QueryInfo queryInfo : queryInfoList) {
+                List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                        ? List.of()
+                        : List.copyOf(queryInfo.getParametersList().get(0));
+                captured.add(new CapturedQuery(queryInfo.getQuery(), parameters));
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        /**
+         * Bọc DataSource của app (đã qua pool routing + SqlStatementListener) thêm một lớp datasource-proxy
+         */
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .name("query-plan")
+                                .listener(new CapturingListener())
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}